@@ -0,0 +1,180 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import com.sun.source.doctree.DocCommentTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.util.DocTrees;
+import com.sun.source.util.JavacTask;
+import com.sun.source.util.TreePathScanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.lang.model.util.Elements;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+/**
+ * Provides the corpus of Javadoc comments used by the benchmarks.
+ * 
+ * The comments are loaded from the resource `corpus.txt`. They
+ * can be obtained as they appear in the source, as the text that
+ * javadoc passes to the doclet (i.e. with the comment delimiters and 
+ * the leading asterisks removed) or as {@link DocCommentTree}s 
+ * created by the compiler.
+ */
+public final class Corpus {
+
+    /** The name of the class generated by {@link #asSource}. */
+    public static final String CLASS_NAME = "Corpus";
+
+    private static final Pattern COMMENT
+        = Pattern.compile("/\\*\\*(?!/).*?\\*/", Pattern.DOTALL);
+    private static final Pattern LEADING
+        = Pattern.compile("^[ \\t]*\\*? ?", Pattern.MULTILINE);
+
+    private static List<String> comments;
+
+    private Corpus() {
+    }
+
+    /**
+     * Returns the comments as they appear in the source.
+     *
+     * @return the comments
+     */
+    public static synchronized List<String> comments() {
+        if (comments == null) {
+            List<String> result = new ArrayList<>();
+            try (InputStream in
+                = Corpus.class.getResourceAsStream("corpus.txt")) {
+                String corpus
+                    = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                Matcher matcher = COMMENT.matcher(corpus);
+                while (matcher.find()) {
+                    result.add(matcher.group());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            comments = Collections.unmodifiableList(result);
+        }
+        return comments;
+    }
+
+    /**
+     * Returns the texts of the comments, i.e. the comments without
+     * the delimiters and leading asterisks.
+     *
+     * @return the texts
+     */
+    public static List<String> texts() {
+        List<String> result = new ArrayList<>();
+        for (String comment : comments()) {
+            String text = comment.substring(3, comment.length() - 2);
+            result.add(LEADING.matcher(text).replaceAll("").strip());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the source of a class with a public method for every
+     * comment in the corpus.
+     *
+     * @return the source
+     */
+    public static String asSource() {
+        StringBuilder source = new StringBuilder(400_000);
+        source.append("public class ").append(CLASS_NAME).append(" {\n");
+        int index = 0;
+        for (String comment : comments()) {
+            source.append("    ").append(comment).append('\n')
+                .append("    public void method").append(index++)
+                .append("() {\n    }\n\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    /**
+     * The result of parsing the {@link #asSource() generated source}.
+     * The task is kept because the other objects depend on its state.
+     *
+     * @param task the compiler task
+     * @param docTrees the doc trees utility
+     * @param elements the elements utility
+     * @param comments the parsed comments
+     */
+    public record Parsed(JavacTask task, DocTrees docTrees, Elements elements,
+            List<DocCommentTree> comments) {
+    }
+
+    /**
+     * Parses the {@link #asSource() generated source} with the system
+     * compiler and returns the comments as {@link DocCommentTree}s.
+     *
+     * @return the result
+     */
+    public static Parsed parse() {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        JavaFileObject source = new SimpleJavaFileObject(
+            URI.create("string:///" + CLASS_NAME + ".java"),
+            JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return asSource();
+            }
+        };
+        JavacTask task = (JavacTask) compiler.getTask(null, null, d -> {
+        }, List.of("-proc:none"), null, List.of(source));
+        DocTrees docTrees = DocTrees.instance(task);
+        List<DocCommentTree> result = new ArrayList<>();
+        try {
+            for (CompilationUnitTree unit : task.parse()) {
+                new TreePathScanner<Void, Void>() {
+                    @Override
+                    public Void visitMethod(MethodTree node, Void unused) {
+                        DocCommentTree comment
+                            = docTrees.getDocCommentTree(getCurrentPath());
+                        if (comment != null) {
+                            result.add(comment);
+                        }
+                        return null;
+                    }
+                }.scan(unit, null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Parsed(task, docTrees, task.getElements(),
+            Collections.unmodifiableList(result));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.tools.DocumentationTool;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.jdrupes.mdoclet.MDoclet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Runs javadoc with the {@link MDoclet} for a class that has a method
+ * for every comment of the corpus. This measures the conversion 
+ * by the {@link org.jdrupes.mdoclet.DocCommentTreeWrapper}s in the
+ * context of the complete generation of the documentation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DocletBenchmark {
+
+    @Param({ "false", "true" })
+    public boolean singlePass;
+
+    private Path workDir;
+    private Path sourceFile;
+    private Path outputDir;
+
+    @Setup
+    public void setup() throws IOException {
+        workDir = Files.createTempDirectory("mdoclet-benchmark");
+        sourceFile = workDir.resolve(Corpus.CLASS_NAME + ".java");
+        Files.writeString(sourceFile, Corpus.asSource(),
+            StandardCharsets.UTF_8);
+        outputDir = workDir.resolve("doc");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workDir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder())
+                .toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean javadoc() throws IOException {
+        DocumentationTool tool = ToolProvider.getSystemDocumentationTool();
+        try (StandardJavaFileManager fileManager
+            = tool.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            List<String> options = new ArrayList<>(List.of("-quiet",
+                "-Xdoclint:none", "-encoding", "UTF-8",
+                "-d", outputDir.toString()));
+            if (singlePass) {
+                options.add("--markdown-single-pass");
+            }
+            return tool.getTask(null, fileManager, d -> {
+            }, MDoclet.class, options,
+                fileManager.getJavaFileObjects(sourceFile)).call();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jdrupes.mdoclet.processors.FlexmarkProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the conversion of the corpus texts by the
+ * {@link FlexmarkProcessor}. Every invocation converts all texts
+ * of the corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FlexmarkProcessorBenchmark {
+
+    private FlexmarkProcessor processor;
+    private List<String> texts;
+
+    @Setup
+    public void setup() {
+        processor = new FlexmarkProcessor();
+        processor.start(new String[0]);
+        texts = Corpus.texts();
+    }
+
+    @Benchmark
+    public void toHtml(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(processor.toHtml(text));
+        }
+    }
+
+    @Benchmark
+    public void toHtmlFragment(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(processor.toHtmlFragment(text));
+        }
+    }
+}
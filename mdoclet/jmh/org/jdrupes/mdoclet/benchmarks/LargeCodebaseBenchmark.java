@@ -0,0 +1,226 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import javax.tools.DocumentationTool.DocumentationTask;
+import javax.tools.StandardJavaFileManager;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.jdrupes.mdoclet.MDoclet;
+import org.jdrupes.mdoclet.events.ClassBuildEvent;
+import org.jdrupes.mdoclet.events.DocLintEvent;
+import org.jdrupes.mdoclet.events.DocumentWriteEvent;
+import org.jdrupes.mdoclet.events.ExternLinkEvent;
+import org.jdrupes.mdoclet.events.MarkdownConversionEvent;
+import org.jdrupes.mdoclet.events.SearchIndexEvent;
+import org.jdrupes.mdoclet.events.SourcePageEvent;
+import org.jdrupes.mdoclet.internal.api.JavadocTool;
+
+/**
+ * Generates a {@link SyntheticCodebase} and runs the {@link MDoclet}
+ * on it. Reports the wall time, the peak heap usage, the time spent
+ * in the phases (as recorded by the doclet's flight recorder events)
+ * and the size of the generated output by kind of file.
+ *
+ * Usage: `LargeCodebaseBenchmark <work dir> <packages> <classes>
+ * <methods> [javadoc options...]`. Additional options are passed
+ * to javadoc, e.g. `-linksource` or `--markdown-threads 4`.
+ */
+public class LargeCodebaseBenchmark {
+
+    private static final List<Class<? extends jdk.jfr.Event>> EVENTS
+        = List.of(MarkdownConversionEvent.class, ClassBuildEvent.class,
+            DocumentWriteEvent.class, SearchIndexEvent.class,
+            SourcePageEvent.class, ExternLinkEvent.class,
+            DocLintEvent.class);
+
+    /**
+     * The accumulated data for a kind of event.
+     */
+    private static class Phase {
+        private long count;
+        private Duration duration = Duration.ZERO;
+        private long characters;
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 4) {
+            System.err.println("Usage: LargeCodebaseBenchmark <work dir> "
+                + "<packages> <classes> <methods> [javadoc options...]");
+            System.exit(2);
+        }
+        Path workDir = Path.of(args[0]);
+        SyntheticCodebase codebase = new SyntheticCodebase(
+            Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+            Integer.parseInt(args[3]), 5);
+        Path sourceDir = workDir.resolve("src");
+        Path outputDir = workDir.resolve("doc");
+        delete(sourceDir);
+        delete(outputDir);
+        codebase.generate(sourceDir);
+
+        List<String> options = new ArrayList<>(List.of("-quiet",
+            "-Xdoclint:none", "-encoding", "UTF-8",
+            "-d", outputDir.toString(), "-sourcepath", sourceDir.toString()));
+        options.add("-subpackages");
+        options.add(SyntheticCodebase.BASE_PACKAGE);
+        options.addAll(Arrays.asList(args).subList(4, args.length));
+
+        List<MemoryPoolMXBean> heapPools
+            = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        Path recordingFile = workDir.resolve("benchmark.jfr");
+        boolean success;
+        long wallTime;
+        try (Recording recording = new Recording()) {
+            EVENTS.forEach(recording::enable);
+            recording.start();
+            JavadocTool tool = new JavadocTool();
+            try (StandardJavaFileManager fileManager = tool
+                .getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+                DocumentationTask task = tool.getTask(null, fileManager,
+                    null, MDoclet.class, options, null);
+                long startTime = System.nanoTime();
+                success = task.call();
+                wallTime = System.nanoTime() - startTime;
+            }
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        long peakHeap = heapPools.stream()
+            .mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+        System.out.printf("Result:     %s%n", success ? "success" : "failed");
+        System.out.printf("Wall time:  %,d ms%n", wallTime / 1_000_000);
+        System.out.printf("Peak heap:  %,d MB (sum of pool peaks)%n",
+            peakHeap / (1024 * 1024));
+        System.out.println();
+        System.out.printf("%-40s %10s %12s %14s%n", "Phase (JFR event)",
+            "Count", "Time [ms]", "Characters");
+        for (var entry : readPhases(recordingFile).entrySet()) {
+            Phase phase = entry.getValue();
+            System.out.printf("%-40s %,10d %,12d %,14d%n", entry.getKey(),
+                phase.count, phase.duration.toMillis(), phase.characters);
+        }
+        System.out.println();
+        System.out.printf("%-40s %10s %14s%n", "Output", "Files", "Bytes");
+        for (var entry : outputSizes(outputDir).entrySet()) {
+            System.out.printf("%-40s %,10d %,14d%n", entry.getKey(),
+                entry.getValue()[0], entry.getValue()[1]);
+        }
+        if (!success) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Phase> readPhases(Path recordingFile)
+            throws IOException {
+        Map<String, Phase> phases = new TreeMap<>();
+        for (RecordedEvent event : RecordingFile
+            .readAllEvents(recordingFile)) {
+            Phase phase = phases.computeIfAbsent(
+                event.getEventType().getLabel(), k -> new Phase());
+            phase.count += 1;
+            phase.duration = phase.duration.plus(event.getDuration());
+            if (event.hasField("characters")) {
+                phase.characters += event.getLong("characters");
+            } else if (event.hasField("outputChars")) {
+                phase.characters += event.getLong("outputChars");
+            }
+        }
+        return phases;
+    }
+
+    private static Map<String, long[]> outputSizes(Path outputDir)
+            throws IOException {
+        Map<String, long[]> sizes = new TreeMap<>();
+        try (Stream<Path> files = Files.walk(outputDir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                long[] entry = sizes.computeIfAbsent(
+                    outputKind(outputDir.relativize(file)), k -> new long[2]);
+                entry[0] += 1;
+                entry[1] += Files.size(file);
+            }
+        }
+        return sizes;
+    }
+
+    private static String outputKind(Path relative) {
+        String name = relative.getFileName().toString();
+        if (relative.startsWith(SyntheticCodebase.BASE_PACKAGE)) {
+            if (relative.toString().contains("class-use")) {
+                return "Class use pages";
+            }
+            if (name.startsWith("package-")) {
+                return "Package pages";
+            }
+            return "Class pages";
+        }
+        if (relative.startsWith("src-html")) {
+            return "Source pages";
+        }
+        if (name.endsWith("-search-index.js")) {
+            return "Search index";
+        }
+        if (name.endsWith(".html")) {
+            return "Other pages";
+        }
+        return "Resources";
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder())
+                .toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
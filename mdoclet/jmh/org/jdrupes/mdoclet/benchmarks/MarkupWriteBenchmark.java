@@ -0,0 +1,109 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlStyle;
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlTree;
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.RawHtml;
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.TagName;
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.Text;
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.TextBuilder;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.Content;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures writing a content tree that resembles the member details
+ * of a class page. The texts contain characters that must be escaped
+ * and the raw HTML (converted comments) contains newlines.
+ *
+ * The parameter `newline` allows to compare writing with and without
+ * newline translation. Run with the gc profiler (the default) to see 
+ * the allocations per write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MarkupWriteBenchmark {
+
+    private static final String DESCRIPTION = """
+        <p>Returns the entries of this map whose keys are in the
+        given range. The range includes <code>from</code> and excludes
+        <code>to</code>.</p>
+        <ul>
+        <li>If <code>from &gt; to</code>, the result is empty.</li>
+        <li>The result is backed by this map.</li>
+        </ul>
+        """;
+
+    @Param({ "\n", "\r\n" })
+    public String newline;
+
+    @Param({ "1000" })
+    public int members;
+
+    private Content page;
+
+    @Setup
+    public void setup() {
+        page = memberDetails(members);
+    }
+
+    /**
+     * Creates content that resembles the member details of a class 
+     * page with the given number of members.
+     *
+     * @param members the number of members
+     * @return the content
+     */
+    public static Content memberDetails(int members) {
+        HtmlTree memberList = HtmlTree.UL(HtmlStyle.memberList);
+        for (int i = 0; i < members; i++) {
+            HtmlTree signature = HtmlTree.DIV(HtmlStyle.memberSignature)
+                .add(HtmlTree.SPAN(HtmlStyle.returnType,
+                    Text.of("Map<String, List<Integer>>")))
+                .add(Text.of(" "))
+                .add(HtmlTree.SPAN(HtmlStyle.elementName,
+                    Text.of("method" + i)))
+                .add(HtmlTree.SPAN(HtmlStyle.parameters,
+                    new TextBuilder("(K from,\n K to) throws A & B")));
+            HtmlTree section = HtmlTree.SECTION(HtmlStyle.detail)
+                .add(HtmlTree.HEADING(TagName.H3, Text.of("method" + i)))
+                .add(signature)
+                .add(HtmlTree.DIV(HtmlStyle.block, RawHtml.of(DESCRIPTION)));
+            memberList.add(HtmlTree.LI(section));
+        }
+        return memberList;
+    }
+
+    @Benchmark
+    public boolean write() throws IOException {
+        return page.write(Writer.nullWriter(), newline, true);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import com.sun.source.doctree.DocTree;
+import com.sun.source.util.DocTreeFactory;
+
+import java.util.List;
+import java.util.function.Function;
+
+import javax.lang.model.element.Name;
+
+import org.jdrupes.mdoclet.MarkdownProcessor;
+
+/**
+ * A processor that delegates to another processor but does not
+ * claim to pass plain text unchanged. A converter that uses it
+ * therefore passes every text to the processor.
+ */
+class OpaqueProcessor implements MarkdownProcessor {
+
+    private final MarkdownProcessor processor;
+
+    public OpaqueProcessor(MarkdownProcessor processor) {
+        this.processor = processor;
+    }
+
+    @Override
+    public int isSupportedOption(String option) {
+        return processor.isSupportedOption(option);
+    }
+
+    @Override
+    public void start(String[] options) {
+        processor.start(options);
+    }
+
+    @Override
+    public String toHtml(String markdown) {
+        return processor.toHtml(markdown);
+    }
+
+    @Override
+    public String toHtmlFragment(String markdown) {
+        return processor.toHtmlFragment(markdown);
+    }
+
+    @Override
+    public List<DocTree> toDocTreeFragment(String markdown,
+            DocTreeFactory factory, Function<CharSequence, Name> names) {
+        return processor.toDocTreeFragment(markdown, factory, names);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.jdrupes.mdoclet.internal.doclets.toolkit.Content;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Utf8FileWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures writing pages with the encoding UTF-8, using the writer
+ * chain that is used for other encodings (`stream`) or the 
+ * {@link Utf8FileWriter} (`direct`). Every invocation writes ten
+ * pages with the member details of a class with the given number
+ * of members.
+ *
+ * Run with the gc profiler (the default) to see the allocations.
+ * The effect on a complete documentation can be seen by running
+ * the `largeCodebaseBenchmark` with `-docencoding UTF-8` and 
+ * another encoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PageEncodingBenchmark {
+
+    @Param({ "stream", "direct" })
+    public String writer;
+
+    @Param({ "20", "500" })
+    public int members;
+
+    private Path dir;
+    private Content page;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("pages");
+        page = MarkupWriteBenchmark.memberDetails(members);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private Writer openWriter(Path file) throws IOException {
+        if (writer.equals("direct")) {
+            return new Utf8FileWriter(file);
+        }
+        return new BufferedWriter(new OutputStreamWriter(
+            new BufferedOutputStream(Files.newOutputStream(file)),
+            StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            try (Writer out = openWriter(dir.resolve("page" + i + ".html"))) {
+                page.write(out, "\n", true);
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import com.sun.source.doctree.DocCommentTree;
+import com.sun.source.doctree.DocTree;
+import com.sun.source.doctree.ParamTree;
+import com.sun.source.doctree.ReturnTree;
+import com.sun.source.doctree.ThrowsTree;
+
+import java.util.List;
+
+import org.jdrupes.mdoclet.ConversionStatistics;
+import org.jdrupes.mdoclet.TreeConverter;
+import org.jdrupes.mdoclet.processors.FlexmarkProcessor;
+
+/**
+ * Checks that the texts for which the {@link TreeConverter} bypasses
+ * the Markdown processor (because they contain no Markdown) are 
+ * converted to the same result as by the {@link FlexmarkProcessor}.
+ * 
+ * All descriptions and tag descriptions of the {@link Corpus} are 
+ * converted by a converter that may bypass the processor and by a 
+ * converter that always uses it. Differences are reported and make
+ * the check fail.
+ */
+public class PlainTextCheck {
+
+    private final Corpus.Parsed parsed = Corpus.parse();
+    private final ConversionStatistics statistics
+        = new ConversionStatistics();
+    private final TreeConverter shortcut;
+    private final TreeConverter full;
+    private int texts;
+    private int differences;
+
+    private PlainTextCheck() {
+        FlexmarkProcessor flexmark = new FlexmarkProcessor();
+        flexmark.start(new String[0]);
+        shortcut = new TreeConverter(flexmark,
+            parsed.docTrees().getDocTreeFactory(), parsed.elements(),
+            statistics, null);
+        full = new TreeConverter(new OpaqueProcessor(flexmark),
+            parsed.docTrees().getDocTreeFactory(), parsed.elements());
+    }
+
+    private void run() {
+        for (DocCommentTree comment : parsed.comments()) {
+            compare(comment.getFullBody(),
+                shortcut.convertDescription(comment.getFullBody()),
+                full.convertDescription(comment.getFullBody()));
+            compare(comment.getFirstSentence(),
+                shortcut.convertFragment(comment.getFirstSentence()),
+                full.convertFragment(comment.getFirstSentence()));
+            for (DocTree tag : comment.getBlockTags()) {
+                List<? extends DocTree> text = null;
+                if (tag instanceof ParamTree param) {
+                    text = param.getDescription();
+                } else if (tag instanceof ReturnTree ret) {
+                    text = ret.getDescription();
+                } else if (tag instanceof ThrowsTree thrown) {
+                    text = thrown.getDescription();
+                }
+                if (text != null) {
+                    compare(text, shortcut.convertFragment(text),
+                        full.convertFragment(text));
+                }
+            }
+        }
+    }
+
+    private void compare(List<? extends DocTree> source,
+            List<? extends DocTree> actual, List<? extends DocTree> expected) {
+        if (source.isEmpty()) {
+            return;
+        }
+        texts += 1;
+        String actualHtml = toString(actual);
+        String expectedHtml = toString(expected);
+        if (!actualHtml.equals(expectedHtml)) {
+            differences += 1;
+            System.out.println("Source:   " + toString(source));
+            System.out.println("Bypassed: " + actualHtml);
+            System.out.println("Flexmark: " + expectedHtml);
+            System.out.println();
+        }
+    }
+
+    private static String toString(List<? extends DocTree> trees) {
+        StringBuilder result = new StringBuilder();
+        for (DocTree tree : trees) {
+            result.append(tree);
+        }
+        return result.toString();
+    }
+
+    /**
+     * The main method.
+     *
+     * @param args the arguments (not used)
+     */
+    public static void main(String[] args) {
+        PlainTextCheck check = new PlainTextCheck();
+        check.run();
+        System.out.println(check.texts + " texts converted, "
+            + check.statistics.plainTextConversions()
+            + " without Markdown processor, " + check.differences
+            + " differences");
+        if (check.differences > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic source tree for benchmarking the generation
+ * of the documentation of large code bases.
+ *
+ * The tree consists of the given number of packages, each with an
+ * interface and its share of the classes. The classes of a package
+ * form inheritance chains of limited depth. All types have comments
+ * with typical Markdown constructs (headings, lists, emphasis, code
+ * blocks), links to other types and snippets. The generation is
+ * deterministic, i.e. the same parameters yield the same sources.
+ */
+public class SyntheticCodebase {
+
+    /** The package that contains all generated packages. */
+    public static final String BASE_PACKAGE = "synthetic";
+    private static final String[] WORDS = { "value", "buffer", "element",
+        "request", "handler", "listener", "channel", "session", "entry",
+        "record", "context", "factory", "provider", "resource", "index",
+        "stream", "event", "policy", "result", "segment" };
+
+    private final int packages;
+    private final int classes;
+    private final int methods;
+    private final int chainDepth;
+    private final Random random = new Random(42);
+
+    /**
+     * Creates a new generator.
+     *
+     * @param packages the number of packages
+     * @param classes the total number of classes
+     * @param methods the number of methods per class
+     * @param chainDepth the maximum depth of the inheritance chains
+     */
+    public SyntheticCodebase(int packages, int classes, int methods,
+            int chainDepth) {
+        this.packages = packages;
+        this.classes = classes;
+        this.methods = methods;
+        this.chainDepth = Math.max(1, chainDepth);
+    }
+
+    private static String packageName(int pkg) {
+        return BASE_PACKAGE + ".pkg" + pkg;
+    }
+
+    private int classesIn(int pkg) {
+        return classes / packages + (pkg < classes % packages ? 1 : 0);
+    }
+
+    private static String className(int cls) {
+        return "Class" + cls;
+    }
+
+    /**
+     * Writes the sources to the given directory.
+     *
+     * @param sourceDir the directory
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void generate(Path sourceDir) throws IOException {
+        for (int pkg = 0; pkg < packages; pkg++) {
+            Path dir = sourceDir.resolve(packageName(pkg).replace('.', '/'));
+            Files.createDirectories(dir);
+            write(dir.resolve("package-info.java"), packageInfo(pkg));
+            write(dir.resolve("Service.java"), serviceInterface(pkg));
+            for (int cls = 0; cls < classesIn(pkg); cls++) {
+                write(dir.resolve(className(cls) + ".java"),
+                    classSource(pkg, cls));
+            }
+        }
+    }
+
+    private static void write(Path file, CharSequence content)
+            throws IOException {
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private String sentence(int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = word();
+            if (i == 0) {
+                text.append(Character.toUpperCase(word.charAt(0)))
+                    .append(word, 1, word.length());
+                continue;
+            }
+            text.append(' ');
+            switch (random.nextInt(12)) {
+            case 0 -> text.append('*').append(word).append('*');
+            case 1 -> text.append("**").append(word).append("**");
+            case 2 -> text.append('`').append(word).append('`');
+            default -> text.append(word);
+            }
+        }
+        return text.append('.').toString();
+    }
+
+    /**
+     * Returns a link to a random type in a random package.
+     */
+    private String link() {
+        int pkg = random.nextInt(packages);
+        int count = classesIn(pkg);
+        String target = count == 0 || random.nextInt(4) == 0 ? "Service"
+            : className(random.nextInt(count));
+        return "{@link " + packageName(pkg) + "." + target + "}";
+    }
+
+    private void comment(StringBuilder out, String indent,
+            List<String> lines) {
+        out.append(indent).append("/**\n");
+        for (String line : lines) {
+            out.append(indent).append(" *");
+            if (!line.isEmpty()) {
+                out.append(' ').append(line);
+            }
+            out.append('\n');
+        }
+        out.append(indent).append(" */\n");
+    }
+
+    private List<String> description(boolean large) {
+        List<String> lines = new ArrayList<>();
+        lines.add(sentence(6 + random.nextInt(6)) + " See " + link() + ".");
+        lines.add("");
+        lines.add(sentence(10) + " " + sentence(8));
+        if (!large) {
+            return lines;
+        }
+        lines.add("");
+        lines.add("Usage");
+        lines.add("-----");
+        lines.add("");
+        for (int i = 0; i < 3; i++) {
+            lines.add(" * " + sentence(5) + " Related: " + link());
+        }
+        lines.add("");
+        lines.add("```java");
+        lines.add("var " + word() + " = new " + className(0) + "();");
+        lines.add(word() + ".process(" + random.nextInt(100) + ");");
+        lines.add("```");
+        lines.add("");
+        lines.add("{@snippet :");
+        lines.add("    int " + word() + " = " + random.nextInt(1000)
+            + "; // @highlight substring=\"int\"");
+        lines.add("}");
+        lines.add("");
+        lines.add("| Name | Description |");
+        lines.add("|------|-------------|");
+        lines.add("| " + word() + " | " + sentence(4) + " |");
+        lines.add("| " + word() + " | " + sentence(4) + " |");
+        return lines;
+    }
+
+    private CharSequence packageInfo(int pkg) {
+        StringBuilder out = new StringBuilder();
+        comment(out, "", description(true));
+        out.append("package ").append(packageName(pkg)).append(";\n");
+        return out;
+    }
+
+    private CharSequence serviceInterface(int pkg) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(packageName(pkg)).append(";\n\n");
+        comment(out, "", description(true));
+        out.append("public interface Service {\n\n");
+        List<String> lines = description(false);
+        lines.add("");
+        lines.add("@param input the " + word());
+        lines.add("@return the " + word());
+        comment(out, "    ", lines);
+        out.append("    int process(int input);\n}\n");
+        return out;
+    }
+
+    private CharSequence classSource(int pkg, int cls) {
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(packageName(pkg)).append(";\n\n");
+        List<String> lines = description(true);
+        lines.add("");
+        lines.add("@see " + packageName(pkg) + ".Service");
+        lines.add("@see \"[Markdown](https://commonmark.org/)\"");
+        comment(out, "", lines);
+        out.append("public class ").append(className(cls));
+        if (cls % chainDepth != 0) {
+            out.append(" extends ").append(className(cls - 1));
+        }
+        out.append(" implements Service {\n\n");
+
+        comment(out, "    ", List.of(sentence(6)));
+        out.append("    protected int ").append("field").append(cls)
+            .append(";\n\n");
+
+        comment(out, "    ", description(false));
+        out.append("    public ").append(className(cls)).append("() {\n")
+            .append("    }\n\n");
+
+        comment(out, "    ", List.of("{@inheritDoc}", "", sentence(8)));
+        out.append("    @Override\n")
+            .append("    public int process(int input) {\n")
+            .append("        return input;\n    }\n\n");
+
+        for (int method = 0; method < methods; method++) {
+            lines = description(method % 3 == 0);
+            lines.add("");
+            lines.add("@param first the " + word() + ", see " + link());
+            lines.add("@param second the *" + word() + "*");
+            lines.add("@return the `" + word() + "`");
+            lines.add("@throws IllegalArgumentException if " + sentence(4));
+            comment(out, "    ", lines);
+            out.append("    public String method").append(cls).append('_')
+                .append(method).append("(String first, int second) {\n")
+                .append("        return first;\n    }\n\n");
+        }
+        out.append("}\n");
+        return out;
+    }
+}
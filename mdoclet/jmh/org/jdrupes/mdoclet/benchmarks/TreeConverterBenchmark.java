@@ -0,0 +1,355 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.benchmarks;
+
+import com.sun.source.doctree.DocCommentTree;
+import com.sun.source.doctree.DocTree;
+import com.sun.source.doctree.InlineTagTree;
+import com.sun.source.doctree.ParamTree;
+import com.sun.source.doctree.ReferenceTree;
+import com.sun.source.doctree.ReturnTree;
+import com.sun.source.doctree.SeeTree;
+import com.sun.source.doctree.StartElementTree;
+import com.sun.source.doctree.ThrowsTree;
+import com.sun.source.util.DocTreeFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import javax.lang.model.element.Name;
+
+import org.jdrupes.mdoclet.MarkdownProcessor;
+import org.jdrupes.mdoclet.TreeConverter;
+import org.jdrupes.mdoclet.processors.FlexmarkProcessor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the conversions performed by the {@link TreeConverter}
+ * for the comments of the corpus. Every invocation converts all
+ * (applicable) parts of all comments.
+ *
+ * {@link #convertSpecialHeavy} converts only the descriptions with
+ * many inline tags such as `{@link}` and `{@code}`, which are
+ * replaced with placeholders before and restored after the
+ * conversion.
+ *
+ * The parameter `plainTextShortcut` allows to compare the 
+ * conversion with and without bypassing the Markdown processor for
+ * texts that contain no Markdown. {@link #convertComment} has the
+ * additional parameter `singlePass` that selects whether all parts 
+ * of a comment are passed to the Markdown processor at once. It
+ * reports the number of comments converted and the number of
+ * invocations of the Markdown processor (parses) as secondary
+ * results, which gives the parses per comment for each mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TreeConverterBenchmark {
+
+    /** The minimum number of inline tags in a special-heavy comment. */
+    public static final int SPECIAL_HEAVY = 5;
+
+    @Param({ "true", "false" })
+    public boolean plainTextShortcut;
+
+    private Corpus.Parsed parsed;
+    private MarkdownProcessor processor;
+    private final AtomicLong parses = new AtomicLong();
+    private TreeConverter converter;
+    private final List<List<? extends DocTree>> fragments = new ArrayList<>();
+    private final List<List<? extends DocTree>> seeFragments
+        = new ArrayList<>();
+    private final List<List<? extends DocTree>> specialHeavy
+        = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        FlexmarkProcessor flexmark = new FlexmarkProcessor();
+        flexmark.start(new String[0]);
+        processor = new CountingProcessor(
+            plainTextShortcut ? flexmark : new OpaqueProcessor(flexmark),
+            parses);
+        parsed = Corpus.parse();
+        converter = newConverter();
+        for (DocCommentTree comment : parsed.comments()) {
+            if (comment.getFullBody().stream()
+                .filter(tree -> tree instanceof InlineTagTree)
+                .count() >= SPECIAL_HEAVY) {
+                specialHeavy.add(comment.getFullBody());
+            }
+            for (DocTree tag : comment.getBlockTags()) {
+                if (tag instanceof ParamTree param) {
+                    fragments.add(param.getDescription());
+                } else if (tag instanceof ReturnTree ret) {
+                    fragments.add(ret.getDescription());
+                } else if (tag instanceof ThrowsTree thrown) {
+                    fragments.add(thrown.getDescription());
+                } else if (tag instanceof SeeTree see
+                    && !see.getReference().isEmpty()
+                    && !(see.getReference().get(0) instanceof ReferenceTree)
+                    && !(see.getReference()
+                        .get(0) instanceof StartElementTree)) {
+                    seeFragments.add(see.getReference());
+                }
+            }
+        }
+    }
+
+    private TreeConverter newConverter() {
+        return new TreeConverter(processor,
+            parsed.docTrees().getDocTreeFactory(), parsed.elements());
+    }
+
+    @Benchmark
+    public void convertDescription(Blackhole blackhole) {
+        for (DocCommentTree comment : parsed.comments()) {
+            blackhole.consume(
+                converter.convertDescription(comment.getFullBody()));
+        }
+    }
+
+    /**
+     * Converts the descriptions that have at least
+     * {@value #SPECIAL_HEAVY} inline tags.
+     *
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void convertSpecialHeavy(Blackhole blackhole) {
+        for (List<? extends DocTree> description : specialHeavy) {
+            blackhole.consume(converter.convertDescription(description));
+        }
+    }
+
+    @Benchmark
+    public void convertFragment(Blackhole blackhole) {
+        for (List<? extends DocTree> fragment : fragments) {
+            blackhole.consume(converter.convertFragment(fragment));
+        }
+    }
+
+    @Benchmark
+    public void convertSeeFragment(Blackhole blackhole) {
+        for (List<? extends DocTree> fragment : seeFragments) {
+            blackhole.consume(converter.convertSeeFragment(fragment));
+        }
+    }
+
+    /**
+     * Selects the conversion mode for {@link #convertComment}.
+     */
+    @State(Scope.Benchmark)
+    public static class ConversionMode {
+        @Param({ "false", "true" })
+        public boolean singlePass;
+    }
+
+    /**
+     * The counts reported as secondary results by
+     * {@link #convertComment}.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ParseCounts {
+        public long comments;
+        public long parses;
+    }
+
+    /**
+     * Converts all parts of every comment with a new converter,
+     * as the {@link org.jdrupes.mdoclet.DocCommentTreeWrapper} does.
+     *
+     * @param mode the conversion mode
+     * @param counts the counts
+     * @param blackhole the blackhole
+     */
+    @Benchmark
+    public void convertComment(ConversionMode mode, ParseCounts counts,
+            Blackhole blackhole) {
+        long parsesBefore = parses.get();
+        for (DocCommentTree comment : parsed.comments()) {
+            TreeConverter perComment = newConverter();
+            if (mode.singlePass) {
+                perComment.prepare(comment);
+            }
+            blackhole.consume(perComment.convertFragment(
+                comment.getFirstSentence(), "firstSentence"));
+            blackhole.consume(perComment.convertDescription(comment.getBody()));
+            List<DocTree> tags = new ArrayList<>();
+            for (DocTree tag : comment.getBlockTags()) {
+                perComment.convertTag(tags, tag);
+            }
+            blackhole.consume(tags);
+        }
+        counts.comments += parsed.comments().size();
+        counts.parses += parses.get() - parsesBefore;
+    }
+
+    /**
+     * A processor that counts the invocations of the processor that
+     * it delegates to.
+     */
+    private static class CountingProcessor implements MarkdownProcessor {
+
+        private final MarkdownProcessor processor;
+        private final AtomicLong parses;
+
+        public CountingProcessor(MarkdownProcessor processor,
+                AtomicLong parses) {
+            this.processor = processor;
+            this.parses = parses;
+        }
+
+        @Override
+        public int isSupportedOption(String option) {
+            return processor.isSupportedOption(option);
+        }
+
+        @Override
+        public void start(String[] options) {
+            processor.start(options);
+        }
+
+        @Override
+        public boolean isPlainTextTransparent() {
+            return processor.isPlainTextTransparent();
+        }
+
+        @Override
+        public String toHtml(String markdown) {
+            parses.incrementAndGet();
+            return processor.toHtml(markdown);
+        }
+
+        @Override
+        public String toHtmlFragment(String markdown) {
+            parses.incrementAndGet();
+            return processor.toHtmlFragment(markdown);
+        }
+
+        @Override
+        public List<DocTree> toDocTreeFragment(String markdown,
+                DocTreeFactory factory, Function<CharSequence, Name> names) {
+            parses.incrementAndGet();
+            return processor.toDocTreeFragment(markdown, factory, names);
+        }
+    }
+
+    /**
+     * A processor that counts the invocations of the processor that
+     * it delegates to.
+     */
+    private static class CountingProcessor implements MarkdownProcessor {
+
+        private final MarkdownProcessor processor;
+        private final AtomicLong parses;
+
+        public CountingProcessor(MarkdownProcessor processor,
+                AtomicLong parses) {
+            this.processor = processor;
+            this.parses = parses;
+        }
+
+        @Override
+        public int isSupportedOption(String option) {
+            return processor.isSupportedOption(option);
+        }
+
+        @Override
+        public void start(String[] options) {
+            processor.start(options);
+        }
+
+        @Override
+        public boolean isPlainTextTransparent() {
+            return processor.isPlainTextTransparent();
+        }
+
+        @Override
+        public String toHtml(String markdown) {
+            parses.incrementAndGet();
+            return processor.toHtml(markdown);
+        }
+
+        @Override
+        public String toHtmlFragment(String markdown) {
+            parses.incrementAndGet();
+            return processor.toHtmlFragment(markdown);
+        }
+
+        @Override
+        public List<DocTree> toDocTreeFragment(String markdown,
+                DocTreeFactory factory, Function<CharSequence, Name> names) {
+            parses.incrementAndGet();
+            return processor.toDocTreeFragment(markdown, factory, names);
+        }
+    }
+
+    /**
+     * A processor that delegates to another processor but does not
+     * claim to pass plain text unchanged.
+     */
+    private static class OpaqueProcessor implements MarkdownProcessor {
+
+        private final MarkdownProcessor processor;
+
+        public OpaqueProcessor(MarkdownProcessor processor) {
+            this.processor = processor;
+        }
+
+        @Override
+        public int isSupportedOption(String option) {
+            return processor.isSupportedOption(option);
+        }
+
+        @Override
+        public void start(String[] options) {
+            processor.start(options);
+        }
+
+        @Override
+        public String toHtml(String markdown) {
+            return processor.toHtml(markdown);
+        }
+
+        @Override
+        public String toHtmlFragment(String markdown) {
+            return processor.toHtmlFragment(markdown);
+        }
+
+        @Override
+        public List<DocTree> toDocTreeFragment(String markdown,
+                DocTreeFactory factory, Function<CharSequence, Name> names) {
+            return processor.toDocTreeFragment(markdown, factory, names);
+        }
+    }
+}
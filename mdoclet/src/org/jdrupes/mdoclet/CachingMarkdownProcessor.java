@@ -0,0 +1,178 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet;
+
+import com.sun.source.doctree.DocTree;
+import com.sun.source.util.DocTreeFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.lang.model.element.Name;
+
+/**
+ * A {@link MarkdownProcessor} that caches the results of the
+ * {@link MarkdownProcessor} passed to the constructor.
+ *
+ * The {@link TreeConverter} replaces all special doc trees (such as
+ * `{@link ...}`) with numbered placeholders before invoking the
+ * processor and re-inserts them into the result. Because the
+ * numbering starts anew with every conversion, identical texts
+ * yield identical Markdown sources, even if the specials refer to
+ * different targets. This makes the Markdown source a suitable
+ * key for caching the processor's output.
+ *
+ * The cache holds at most the number of entries passed to the
+ * constructor and evicts the least recently used entries
+ * when the limit is exceeded.
+ *
+ * The cache is thread safe. It is therefore thread safe as a whole
+ * if the processor that it delegates to is thread safe.
+ */
+public class CachingMarkdownProcessor implements MarkdownProcessor {
+
+    private final MarkdownProcessor processor;
+    private final Map<String, String> descriptions;
+    private final Map<String, String> fragments;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a new caching processor.
+     *
+     * @param processor the processor to delegate to
+     * @param maxEntries the maximum number of entries (for each kind
+     * of conversion)
+     */
+    public CachingMarkdownProcessor(MarkdownProcessor processor,
+            int maxEntries) {
+        this.processor = processor;
+        descriptions = createCache(maxEntries);
+        fragments = createCache(maxEntries);
+    }
+
+    @SuppressWarnings("serial")
+    private static Map<String, String> createCache(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean
+                    removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the processor that this processor delegates to.
+     *
+     * @return the processor
+     */
+    public MarkdownProcessor processor() {
+        return processor;
+    }
+
+    @Override
+    public int isSupportedOption(String option) {
+        return processor.isSupportedOption(option);
+    }
+
+    @Override
+    public void start(String[] options) {
+        processor.start(options);
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return processor.isThreadSafe();
+    }
+
+    @Override
+    public boolean isPlainTextTransparent() {
+        return processor.isPlainTextTransparent();
+    }
+
+    /**
+     * Delegates to the processor. The results are not cached 
+     * because they cannot be shared between invocations.
+     */
+    @Override
+    public List<DocTree> toDocTreeFragment(String markdown,
+            DocTreeFactory factory, Function<CharSequence, Name> names) {
+        return processor.toDocTreeFragment(markdown, factory, names);
+    }
+
+    private synchronized String lookup(Map<String, String> cache,
+            String markdown) {
+        String result = cache.get(markdown);
+        if (result != null) {
+            hits += 1;
+        } else {
+            misses += 1;
+        }
+        return result;
+    }
+
+    private synchronized void store(Map<String, String> cache,
+            String markdown, String result) {
+        cache.put(markdown, result);
+    }
+
+    @Override
+    public String toHtml(String markdown) {
+        String result = lookup(descriptions, markdown);
+        if (result == null) {
+            result = processor.toHtml(markdown);
+            store(descriptions, markdown, result);
+        }
+        return result;
+    }
+
+    @Override
+    public String toHtmlFragment(String markdown) {
+        String result = lookup(fragments, markdown);
+        if (result == null) {
+            result = processor.toHtmlFragment(markdown);
+            store(fragments, markdown, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of conversions that were satisfied
+     * from the cache.
+     *
+     * @return the hits
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of conversions that had to be delegated
+     * to the processor.
+     *
+     * @return the misses
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+}
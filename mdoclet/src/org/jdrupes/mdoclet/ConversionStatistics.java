@@ -0,0 +1,332 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.QualifiedNameable;
+
+/**
+ * Collects statistics about the conversions performed by the
+ * {@link TreeConverter}s. The counters may be updated concurrently.
+ * 
+ * Besides the overall counters, the statistics are kept by kind of
+ * conversion (e.g. "description", "param", "see"). If detailed
+ * statistics are enabled, the time spent is also accumulated for
+ * every element (the "owner" of a comment), which allows to
+ * report the elements and packages that are most expensive 
+ * to convert.
+ */
+public class ConversionStatistics {
+
+    private static final int HISTOGRAM_BUCKETS = 20;
+
+    private final LongAdder conversions = new LongAdder();
+    private final LongAdder plainTextConversions = new LongAdder();
+    private final LongAdder blockTags = new LongAdder();
+    private final LongAdder blockTagConversions = new LongAdder();
+    private final Map<String, KindStatistics> kinds = new TreeMap<>();
+    private volatile boolean detailed;
+    private final Map<Object, OwnerStatistics> owners = new HashMap<>();
+
+    /**
+     * The statistics for a kind of conversion. The histogram 
+     * counts the conversions by duration. Bucket i holds the
+     * conversions that took less than 2^(i+1) microseconds 
+     * (and at least 2^i microseconds for i > 0). The last
+     * bucket holds all longer conversions.
+     */
+    private static class KindStatistics {
+        private long count;
+        private long plainText;
+        private long inputChars;
+        private long outputChars;
+        private long nanos;
+        private long maxNanos;
+        private final long[] histogram = new long[HISTOGRAM_BUCKETS];
+    }
+
+    /**
+     * The statistics for an element.
+     */
+    private static class OwnerStatistics {
+        private long count;
+        private long inputChars;
+        private long nanos;
+    }
+
+    /**
+     * Enables the collection of statistics for each element.
+     *
+     * @param detailed whether to collect statistics for each element
+     */
+    public void setDetailed(boolean detailed) {
+        this.detailed = detailed;
+    }
+
+    /**
+     * Records a conversion.
+     *
+     * @param owner the element (or other object) with the comment
+     * that is converted, may be `null`
+     * @param kind the kind of conversion
+     * @param plainText whether the text has been found to contain
+     * no markdown and the processor has therefore been bypassed
+     * @param inputChars the length of the markdown source
+     * @param outputChars the length of the generated HTML
+     * @param nanos the time spent
+     */
+    public void recordConversion(Object owner, String kind,
+            boolean plainText, int inputChars, int outputChars, long nanos) {
+        conversions.increment();
+        if (plainText) {
+            plainTextConversions.increment();
+        }
+        int bucket = Math.min(HISTOGRAM_BUCKETS - 1,
+            Math.max(0, 63 - Long.numberOfLeadingZeros(nanos / 1000)));
+        synchronized (kinds) {
+            KindStatistics stats
+                = kinds.computeIfAbsent(kind, k -> new KindStatistics());
+            stats.count += 1;
+            stats.plainText += plainText ? 1 : 0;
+            stats.inputChars += inputChars;
+            stats.outputChars += outputChars;
+            stats.nanos += nanos;
+            stats.maxNanos = Math.max(stats.maxNanos, nanos);
+            stats.histogram[bucket] += 1;
+        }
+        if (!detailed || owner == null) {
+            return;
+        }
+        synchronized (owners) {
+            OwnerStatistics stats
+                = owners.computeIfAbsent(owner, k -> new OwnerStatistics());
+            stats.count += 1;
+            stats.inputChars += inputChars;
+            stats.nanos += nanos;
+        }
+    }
+
+    /**
+     * Records the number of block tags of a comment.
+     *
+     * @param count the count
+     */
+    public void recordBlockTags(int count) {
+        blockTags.add(count);
+    }
+
+    /**
+     * Records the conversion of a block tag.
+     */
+    public void recordBlockTagConversion() {
+        blockTagConversions.increment();
+    }
+
+    /**
+     * Returns the number of conversions of descriptions and fragments.
+     *
+     * @return the conversions
+     */
+    public long conversions() {
+        return conversions.sum();
+    }
+
+    /**
+     * Returns the number of conversions that bypassed the processor
+     * because the text contained no markdown.
+     *
+     * @return the conversions
+     */
+    public long plainTextConversions() {
+        return plainTextConversions.sum();
+    }
+
+    /**
+     * Returns the number of block tags in the comments that
+     * have been accessed.
+     *
+     * @return the number of tags
+     */
+    public long blockTags() {
+        return blockTags.sum();
+    }
+
+    /**
+     * Returns the number of block tags that have been converted.
+     *
+     * @return the number of tags
+     */
+    public long blockTagConversions() {
+        return blockTagConversions.sum();
+    }
+
+    /**
+     * Writes the statistics as JSON object. The object includes
+     * the given number of elements and packages with the
+     * longest total conversion time if detailed statistics
+     * have been collected.
+     *
+     * @param out the writer
+     * @param topN the number of elements and packages to include
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeJson(Writer out, int topN) throws IOException {
+        out.write("{\n");
+        out.write("  \"conversions\": " + conversions() + ",\n");
+        out.write("  \"plainTextConversions\": " + plainTextConversions()
+            + ",\n");
+        out.write("  \"blockTags\": " + blockTags() + ",\n");
+        out.write("  \"blockTagConversions\": " + blockTagConversions()
+            + ",\n");
+        out.write("  \"kinds\": {");
+        synchronized (kinds) {
+            String sep = "\n";
+            for (var entry : kinds.entrySet()) {
+                KindStatistics stats = entry.getValue();
+                out.write(sep + "    " + quote(entry.getKey()) + ": {"
+                    + "\"count\": " + stats.count
+                    + ", \"plainText\": " + stats.plainText
+                    + ", \"inputChars\": " + stats.inputChars
+                    + ", \"outputChars\": " + stats.outputChars
+                    + ", \"nanos\": " + stats.nanos
+                    + ", \"maxNanos\": " + stats.maxNanos
+                    + ", \"histogramMicros\": [");
+                for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                    out.write((i == 0 ? "" : ", ") + stats.histogram[i]);
+                }
+                out.write("]}");
+                sep = ",\n";
+            }
+        }
+        out.write("\n  },\n");
+        List<Map.Entry<Object, OwnerStatistics>> byOwner;
+        Map<String, OwnerStatistics> byPackage = new HashMap<>();
+        synchronized (owners) {
+            byOwner = new ArrayList<>(owners.entrySet());
+            for (var entry : byOwner) {
+                OwnerStatistics pkgStats = byPackage.computeIfAbsent(
+                    packageOf(entry.getKey()), k -> new OwnerStatistics());
+                pkgStats.count += entry.getValue().count;
+                pkgStats.inputChars += entry.getValue().inputChars;
+                pkgStats.nanos += entry.getValue().nanos;
+            }
+        }
+        byOwner.sort(Comparator.comparingLong(
+            (Map.Entry<Object, OwnerStatistics> e) -> e.getValue().nanos)
+            .reversed());
+        List<Map.Entry<String, OwnerStatistics>> packages
+            = new ArrayList<>(byPackage.entrySet());
+        packages.sort(Comparator.comparingLong(
+            (Map.Entry<String, OwnerStatistics> e) -> e.getValue().nanos)
+            .reversed());
+        out.write("  \"slowestElements\": [");
+        writeOwners(out, "element", byOwner.stream().limit(topN)
+            .map(e -> Map.entry(describe(e.getKey()), e.getValue())).toList());
+        out.write("],\n");
+        out.write("  \"slowestPackages\": [");
+        writeOwners(out, "package",
+            packages.stream().limit(topN).toList());
+        out.write("]\n");
+        out.write("}\n");
+    }
+
+    private void writeOwners(Writer out, String label,
+            List<Map.Entry<String, OwnerStatistics>> owners)
+            throws IOException {
+        String sep = "\n";
+        for (var entry : owners) {
+            OwnerStatistics stats = entry.getValue();
+            out.write(sep + "    {" + quote(label) + ": "
+                + quote(entry.getKey())
+                + ", \"conversions\": " + stats.count
+                + ", \"inputChars\": " + stats.inputChars
+                + ", \"nanos\": " + stats.nanos + "}");
+            sep = ",\n";
+        }
+        if (!owners.isEmpty()) {
+            out.write("\n  ");
+        }
+    }
+
+    /**
+     * Returns a human readable description of the owner of a comment.
+     *
+     * @param owner the owner
+     * @return the description
+     */
+    static String describe(Object owner) {
+        if (owner instanceof QualifiedNameable named) {
+            return named.getQualifiedName().toString();
+        }
+        if (owner instanceof Element element && element
+            .getEnclosingElement() instanceof QualifiedNameable parent) {
+            return parent.getQualifiedName() + "#" + element;
+        }
+        return String.valueOf(owner);
+    }
+
+    private static String packageOf(Object owner) {
+        if (!(owner instanceof Element)) {
+            return "";
+        }
+        for (Element element = (Element) owner; element != null;
+                element = element.getEnclosingElement()) {
+            if (element instanceof PackageElement pkg) {
+                return pkg.getQualifiedName().toString();
+            }
+        }
+        return "";
+    }
+
+    private static String quote(String value) {
+        StringBuilder result = new StringBuilder(value.length() + 2);
+        result.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char chr = value.charAt(i);
+            switch (chr) {
+            case '"', '\\':
+                result.append('\\').append(chr);
+                break;
+            case '\n':
+                result.append("\\n");
+                break;
+            default:
+                if (chr < ' ') {
+                    result.append(String.format("\\u%04x", (int) chr));
+                } else {
+                    result.append(chr);
+                }
+                break;
+            }
+        }
+        return result.append('"').toString();
+    }
+
+}
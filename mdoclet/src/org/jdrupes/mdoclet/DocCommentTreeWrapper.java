@@ -42,13 +42,15 @@ public class DocCommentTreeWrapper extends DCTree.DCDocComment
 
     private DocCommentTree tree;
     private TreeConverter treeConverter;
+    private boolean prepare;
     private List<DocTree> fullBody;
     private List<DocTree> firstSentence;
     private List<DocTree> body;
-    private List<DocTree> blockTags;
+    private LazyBlockTags blockTags;
+    private final ConversionStatistics statistics;
 
     public DocCommentTreeWrapper(MDoclet doclet, MDocletEnvironment environment,
-            DocCommentTree tree) {
+            DocCommentTree tree, Object owner) {
         super(tree instanceof DCTree.DCDocComment
             ? ((DCTree.DCDocComment) tree).comment
             : null,
@@ -56,7 +58,20 @@ public class DocCommentTreeWrapper extends DCTree.DCDocComment
         this.tree = tree;
         treeConverter = new TreeConverter(doclet.getProcessor(),
             environment.getDocTrees().getDocTreeFactory(),
-            environment.getElementUtils());
+            environment.getElementUtils(), doclet.getStatistics(), owner);
+        prepare = doclet.isSinglePassConversion();
+        statistics = doclet.getStatistics();
+    }
+
+    /**
+     * If single pass conversion is enabled, have the tree converter
+     * convert all parts at once before the first part is accessed.
+     */
+    private void prepare() {
+        if (prepare) {
+            prepare = false;
+            treeConverter.prepare(tree);
+        }
     }
 
     /**
@@ -79,8 +94,10 @@ public class DocCommentTreeWrapper extends DCTree.DCDocComment
      */
     public List<? extends DocTree> getFirstSentence() {
         if (firstSentence == null) {
+            prepare();
             firstSentence
-                = treeConverter.convertFragment(tree.getFirstSentence());
+                = treeConverter.convertFragment(tree.getFirstSentence(),
+                    "firstSentence");
         }
         return firstSentence;
     }
@@ -92,6 +109,7 @@ public class DocCommentTreeWrapper extends DCTree.DCDocComment
      */
     public List<? extends DocTree> getBody() {
         if (body == null) {
+            prepare();
             body = treeConverter.convertDescription(tree.getBody());
         }
         return body;
@@ -100,19 +118,28 @@ public class DocCommentTreeWrapper extends DCTree.DCDocComment
     /**
      * {@inheritDoc}
      * 
+     * The tags are converted when accessed, see {@link LazyBlockTags}.
+     * 
      * @see com.sun.source.doctree.DocCommentTree#getBlockTags()
      */
-    public List<? extends DocTree> getBlockTags() {
+    public LazyBlockTags getBlockTags() {
         if (blockTags == null) {
-            List<? extends DocTree> origTags = tree.getBlockTags();
-            blockTags = new ArrayList<>();
-            for (DocTree tree : origTags) {
-                treeConverter.convertTag(blockTags, tree);
-            }
+            prepare();
+            blockTags = new LazyBlockTags(treeConverter, tree.getBlockTags(),
+                statistics);
         }
         return blockTags;
     }
 
+    /**
+     * Converts all parts of the comment. Used to trigger the 
+     * conversion before the results are needed.
+     */
+    public void convert() {
+        getFullBody();
+        getBlockTags().convertAll();
+    }
+
     /**
      * {@inheritDoc}
      * 
@@ -20,7 +20,10 @@ package org.jdrupes.mdoclet;
 
 import java.io.IOException;
 import java.text.BreakIterator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
@@ -60,12 +63,27 @@ import com.sun.source.util.TreePath;
  * For method invocations with {@link FileObject}s as argument,
  * the source is converted from markdown to html if the name ends
  * with ".md".
+ * 
+ * The wrappers are cached for the whole run, using the identity
+ * of the wrapped {@link DocCommentTree} as key. As the wrapper
+ * converts its content lazily and keeps the result, this ensures
+ * that a comment is converted only once, no matter how often
+ * it is requested by the standard doclet's components.
+ * 
+ * Trees obtained from files (see {@link #getDocCommentTree(FileObject)}
+ * and {@link #getDocCommentTree(Element, String)}) are parsed anew 
+ * by every invocation. They are wrapped without being cached, 
+ * because the cache could never be hit.
  */
 public class DocTreesWrapper extends DocTrees {
 
     private final MDoclet doclet;
     private final MDocletEnvironment environment;
     private final DocTrees docTrees;
+    private final Map<DocCommentTree, DocCommentTreeWrapper> wrapperCache
+        = new IdentityHashMap<>();
+    private long cacheHits;
+    private long cacheMisses;
 
     public DocTreesWrapper(MDoclet doclet, MDocletEnvironment environment,
             DocTrees docTrees) {
@@ -75,11 +93,57 @@ public class DocTreesWrapper extends DocTrees {
         this.docTrees = docTrees;
     }
 
-    private DocCommentTree wrap(DocCommentTree tree) {
+    private DocCommentTree wrap(DocCommentTree tree, Supplier<Object> owner) {
         if (tree == null) {
             return null;
         }
-        return new DocCommentTreeWrapper(doclet, environment, tree);
+        synchronized (wrapperCache) {
+            DocCommentTreeWrapper wrapper = wrapperCache.get(tree);
+            if (wrapper != null) {
+                cacheHits += 1;
+                return wrapper;
+            }
+            cacheMisses += 1;
+            wrapper = new DocCommentTreeWrapper(doclet, environment, tree,
+                owner.get());
+            wrapperCache.put(tree, wrapper);
+            return wrapper;
+        }
+    }
+
+    private DocCommentTree wrapUncached(DocCommentTree tree,
+            Object owner) {
+        if (tree == null) {
+            return null;
+        }
+        return new DocCommentTreeWrapper(doclet, environment, tree, owner);
+    }
+
+    /**
+     * Returns the number of requests for a {@link DocCommentTree}
+     * that were satisfied with an already existing wrapper.
+     * 
+     * @return the number of cache hits
+     */
+    public long cacheHits() {
+        synchronized (wrapperCache) {
+            return cacheHits;
+        }
+    }
+
+    /**
+     * Returns the number of requests for a {@link DocCommentTree}
+     * that caused a new wrapper to be created. Because the
+     * wrapper is kept for the whole run, this is the number of
+     * distinct comments that have been converted (or are subject
+     * to conversion when their content is accessed).
+     * 
+     * @return the number of cache misses
+     */
+    public long cacheMisses() {
+        synchronized (wrapperCache) {
+            return cacheMisses;
+        }
     }
 
     /**
@@ -100,7 +164,8 @@ public class DocTreesWrapper extends DocTrees {
      * @see com.sun.source.util.DocTrees#getDocCommentTree(com.sun.source.util.TreePath)
      */
     public DocCommentTree getDocCommentTree(TreePath path) {
-        return wrap(docTrees.getDocCommentTree(path));
+        return wrap(docTrees.getDocCommentTree(path),
+            () -> docTrees.getElement(path));
     }
 
     /**
@@ -110,7 +175,7 @@ public class DocTreesWrapper extends DocTrees {
      * @see com.sun.source.util.DocTrees#getDocCommentTree(javax.lang.model.element.Element)
      */
     public DocCommentTree getDocCommentTree(Element e) {
-        return wrap(docTrees.getDocCommentTree(e));
+        return wrap(docTrees.getDocCommentTree(e), () -> e);
     }
 
     /**
@@ -123,7 +188,9 @@ public class DocTreesWrapper extends DocTrees {
         if (!fileObject.getName().endsWith(".md")) {
             return docTrees.getDocCommentTree(fileObject);
         }
-        return wrap(docTrees.getDocCommentTree(wrapMdFile(fileObject)));
+        return wrapUncached(
+            docTrees.getDocCommentTree(wrapMdFile(fileObject)),
+            fileObject.getName());
     }
 
     private FileObject wrapMdFile(FileObject fileObject) {
@@ -163,7 +230,7 @@ public class DocTreesWrapper extends DocTrees {
      */
     public DocCommentTree getDocCommentTree(Element e, String relativePath)
             throws IOException {
-        return wrap(docTrees.getDocCommentTree(e, relativePath));
+        return wrapUncached(docTrees.getDocCommentTree(e, relativePath), e);
     }
 
     /**
@@ -0,0 +1,120 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet;
+
+import com.sun.source.doctree.DocTree;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A list of block tags that are converted by a {@link TreeConverter}
+ * when they are accessed for the first time.
+ * 
+ * The conversion preserves the kind and the name of a tag (and, for
+ * parameters, whether the parameter is a type parameter). Code that 
+ * selects tags based on these properties only can therefore use
+ * {@link #unconverted()} for the selection and convert only the tags 
+ * that it actually needs.
+ */
+public class LazyBlockTags extends AbstractList<DocTree>
+        implements RandomAccess {
+
+    private final TreeConverter converter;
+    private final List<? extends DocTree> unconverted;
+    private final DocTree[] converted;
+    private final ConversionStatistics statistics;
+
+    /**
+     * Creates a new list.
+     *
+     * @param converter the converter
+     * @param unconverted the unconverted tags
+     * @param statistics the statistics to update
+     */
+    public LazyBlockTags(TreeConverter converter,
+            List<? extends DocTree> unconverted,
+            ConversionStatistics statistics) {
+        this.converter = converter;
+        this.unconverted = unconverted;
+        this.statistics = statistics;
+        converted = new DocTree[unconverted.size()];
+        statistics.recordBlockTags(converted.length);
+    }
+
+    @Override
+    public int size() {
+        return converted.length;
+    }
+
+    /**
+     * Returns the converted tag at the given index.
+     *
+     * @param index the index
+     * @return the tag
+     */
+    @Override
+    public DocTree get(int index) {
+        if (converted[index] == null) {
+            List<DocTree> result = new ArrayList<>(1);
+            converter.convertTag(result, unconverted.get(index));
+            converted[index] = result.get(0);
+            statistics.recordBlockTagConversion();
+        }
+        return converted[index];
+    }
+
+    /**
+     * Returns the tags before conversion.
+     *
+     * @return the tags
+     */
+    public List<? extends DocTree> unconverted() {
+        return unconverted;
+    }
+
+    /**
+     * Returns the converted tag for the given unconverted tag. If the 
+     * tag passed as argument is not one of the unconverted tags, it is
+     * returned unchanged. 
+     *
+     * @param tag the tag
+     * @return the converted tag
+     */
+    public DocTree converted(DocTree tag) {
+        for (int i = 0; i < converted.length; i++) {
+            if (unconverted.get(i) == tag) {
+                return get(i);
+            }
+        }
+        return tag;
+    }
+
+    /**
+     * Converts all tags.
+     */
+    public void convertAll() {
+        for (int i = 0; i < converted.length; i++) {
+            get(i);
+        }
+    }
+
+}
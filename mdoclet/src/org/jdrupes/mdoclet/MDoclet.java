@@ -21,15 +21,25 @@ package org.jdrupes.mdoclet;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import javax.tools.DocumentationTool.Location;
 import javax.tools.JavaFileManager;
@@ -93,6 +103,14 @@ public class MDoclet implements Doclet {
     private boolean disableHighlight;
     private boolean disableAutoHighlight;
     private String highlightStyle = "default";
+    private int markdownCacheSize = 10_000;
+    private Path markdownCacheDir;
+    private PersistentMarkdownProcessor persistentCache;
+    private boolean reportCacheStats;
+    private Path markdownStatsFile;
+    private int markdownThreads = 1;
+    private boolean singlePassConversion;
+    private final ConversionStatistics statistics = new ConversionStatistics();
 
     private final HtmlDoclet htmlDoclet;
 
@@ -152,6 +170,56 @@ public class MDoclet implements Doclet {
                 return true;
             }
         });
+        options.add(new MDocletOption("markdown-cache-size", 1) {
+            @Override
+            public boolean process(String option, List<String> arguments) {
+                try {
+                    markdownCacheSize = Integer.parseInt(arguments.get(0));
+                    return markdownCacheSize >= 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        });
+        options.add(new MDocletOption("markdown-cache-dir", 1) {
+            @Override
+            public boolean process(String option, List<String> arguments) {
+                markdownCacheDir = Path.of(arguments.get(0));
+                return true;
+            }
+        });
+        options.add(new MDocletOption("markdown-cache-stats", 0) {
+            @Override
+            public boolean process(String option, List<String> arguments) {
+                reportCacheStats = true;
+                return true;
+            }
+        });
+        options.add(new MDocletOption("markdown-stats", 1) {
+            @Override
+            public boolean process(String option, List<String> arguments) {
+                markdownStatsFile = Path.of(arguments.get(0));
+                return true;
+            }
+        });
+        options.add(new MDocletOption("markdown-threads", 1) {
+            @Override
+            public boolean process(String option, List<String> arguments) {
+                try {
+                    markdownThreads = Integer.parseInt(arguments.get(0));
+                    return markdownThreads > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        });
+        options.add(new MDocletOption("markdown-single-pass", 0) {
+            @Override
+            public boolean process(String option, List<String> arguments) {
+                singlePassConversion = true;
+                return true;
+            }
+        });
         options.add(new MDocletOption("M", 1) {
             @Override
             public boolean process(String option, List<String> arguments) {
@@ -218,8 +286,170 @@ public class MDoclet implements Doclet {
 
         MDocletEnvironment env = new MDocletEnvironment(this, environment);
         processor = createProcessor();
+        if (markdownCacheDir != null) {
+            if (PersistentMarkdownProcessor.docletVersion() == null) {
+                // Results of different builds cannot be told apart.
+                reporter.print(Diagnostic.Kind.WARNING,
+                    "Doclet version unknown, markdown cache in "
+                        + markdownCacheDir + " not used");
+            } else {
+                processor = persistentCache = new PersistentMarkdownProcessor(
+                    processor, markdownCacheDir);
+            }
+        }
+        if (markdownCacheSize > 0) {
+            processor
+                = new CachingMarkdownProcessor(processor, markdownCacheSize);
+        }
         processor.start(processorOptions.toArray(new String[0]));
-        return htmlDoclet.run(env) && postProcess();
+        statistics.setDetailed(markdownStatsFile != null);
+        openPersistentCache();
+        boolean result;
+        try {
+            result = preconvert(env) && htmlDoclet.run(env) && postProcess();
+        } finally {
+            closePersistentCache();
+        }
+        if (reportCacheStats) {
+            reportCacheStats(env);
+        }
+        writeStatistics();
+        return result;
+    }
+
+    /**
+     * Converts the comments of all included elements using the number
+     * of threads specified with `--markdown-threads`. The converted
+     * comments are kept by the {@link DocTreesWrapper} and will
+     * therefore be used when the {@link HtmlDoclet} requests them.
+     * 
+     * The included elements are the modules, packages and types
+     * selected for documentation. Their comments and the comments of
+     * the types' included members are converted. Comments that are 
+     * read from files (the overview file and `package.html` or 
+     * `package.md` files) are parsed anew whenever they are requested
+     * (see {@link DocTreesWrapper}) and are therefore not converted 
+     * in advance.
+     * 
+     * The comments are retrieved sequentially because the compiler's
+     * data structures are not thread safe. Only the conversion is
+     * done in parallel.
+     *
+     * @param env the environment
+     * @return false if an error occurred
+     */
+    private boolean preconvert(MDocletEnvironment env) {
+        if (markdownThreads <= 1) {
+            return true;
+        }
+        if (!processor.isThreadSafe()) {
+            reporter.print(Diagnostic.Kind.WARNING, "Markdown processor \""
+                + markdownProcessorName + "\" is not thread safe, "
+                + "converting comments sequentially");
+            return true;
+        }
+        Set<DocCommentTreeWrapper> wrappers = new LinkedHashSet<>();
+        // Modules, packages and types
+        for (Element element : env.getIncludedElements()) {
+            addWrapper(env, wrappers, element);
+            if (element instanceof TypeElement) {
+                for (Element member : element.getEnclosedElements()) {
+                    if (!(member instanceof TypeElement)
+                        && env.isIncluded(member)) {
+                        addWrapper(env, wrappers, member);
+                    }
+                }
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(markdownThreads);
+        try {
+            pool.submit(() -> wrappers.parallelStream()
+                .forEach(DocCommentTreeWrapper::convert)).get();
+            return true;
+        } catch (InterruptedException | ExecutionException e) {
+            Throwable cause = e instanceof ExecutionException
+                && e.getCause() != null ? e.getCause() : e;
+            reporter.print(Diagnostic.Kind.ERROR,
+                "Converting comments failed: " + cause.getMessage());
+            return false;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void addWrapper(MDocletEnvironment env,
+            Set<DocCommentTreeWrapper> wrappers, Element element) {
+        if (env.getDocTrees().getDocCommentTree(
+            element) instanceof DocCommentTreeWrapper wrapper) {
+            wrappers.add(wrapper);
+        }
+    }
+
+    private void openPersistentCache() {
+        if (persistentCache == null) {
+            return;
+        }
+        try {
+            persistentCache.open();
+        } catch (IOException e) {
+            reporter.print(Diagnostic.Kind.WARNING,
+                "Cannot read markdown cache in " + markdownCacheDir + ": "
+                    + e.getLocalizedMessage());
+        }
+    }
+
+    private void closePersistentCache() {
+        if (persistentCache == null) {
+            return;
+        }
+        try {
+            persistentCache.close();
+        } catch (IOException e) {
+            reporter.print(Diagnostic.Kind.WARNING,
+                "Cannot update markdown cache in " + markdownCacheDir + ": "
+                    + e.getLocalizedMessage());
+        }
+    }
+
+    private void writeStatistics() {
+        if (markdownStatsFile == null) {
+            return;
+        }
+        try (Writer out = Files.newBufferedWriter(markdownStatsFile,
+            StandardCharsets.UTF_8)) {
+            statistics.writeJson(out, 50);
+        } catch (IOException e) {
+            reporter.print(Diagnostic.Kind.WARNING,
+                "Cannot write markdown statistics to " + markdownStatsFile
+                    + ": " + e.getLocalizedMessage());
+        }
+    }
+
+    private void reportCacheStats(MDocletEnvironment env) {
+        reporter.print(Diagnostic.Kind.NOTE,
+            "Markdown conversions: " + statistics.conversions()
+                + " texts converted, " + statistics.plainTextConversions()
+                + " without markdown processor");
+        reporter.print(Diagnostic.Kind.NOTE,
+            "Markdown block tags: " + statistics.blockTags() + " tags, "
+                + statistics.blockTagConversions() + " converted");
+        reporter.print(Diagnostic.Kind.NOTE,
+            "Markdown comment cache: " + env.docTrees.cacheMisses()
+                + " comments converted, " + env.docTrees.cacheHits()
+                + " conversions avoided");
+        if (processor instanceof CachingMarkdownProcessor caching) {
+            reporter.print(Diagnostic.Kind.NOTE,
+                "Markdown text cache: " + caching.misses()
+                    + " texts converted, " + caching.hits()
+                    + " conversions avoided");
+        }
+        if (persistentCache != null) {
+            reporter.print(Diagnostic.Kind.NOTE,
+                "Persistent markdown cache: " + persistentCache.loaded()
+                    + " results loaded, " + persistentCache.hits()
+                    + " used, " + persistentCache.misses() + " added, "
+                    + persistentCache.dropped() + " dropped");
+        }
     }
 
     private MarkdownProcessor createProcessor() {
@@ -256,6 +486,26 @@ public class MDoclet implements Doclet {
         return processor;
     }
 
+    /**
+     * Returns the statistics collected during the conversions.
+     *
+     * @return the statistics
+     */
+    public ConversionStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Indicates whether all parts of a comment are to be converted 
+     * with a single invocation of the Markdown processor.
+     *
+     * @return the result
+     * @see TreeConverter#prepare(DocCommentTree)
+     */
+    public boolean isSinglePassConversion() {
+        return singlePassConversion;
+    }
+
     private boolean postProcess() {
         if (disableHighlight) {
             return true;
@@ -271,14 +521,15 @@ public class MDoclet implements Doclet {
 
     private boolean copyResource(String resource, String destination,
             String description) {
-        try {
-            InputStream in = MDoclet.class.getResourceAsStream(resource);
+        try (InputStream in = MDoclet.class.getResourceAsStream(resource)) {
             if (in == null) {
                 throw new FileNotFoundException();
             }
-            in.transferTo(
-                fileManager.getFileForOutput(Location.DOCUMENTATION_OUTPUT, "",
-                    destination, null).openOutputStream());
+            try (OutputStream out = fileManager.getFileForOutput(
+                Location.DOCUMENTATION_OUTPUT, "", destination, null)
+                .openOutputStream()) {
+                in.transferTo(out);
+            }
             return true;
         } catch (IOException e) {
             reporter.print(javax.tools.Diagnostic.Kind.ERROR,
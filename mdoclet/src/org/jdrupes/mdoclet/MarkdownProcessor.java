@@ -18,6 +18,13 @@
 
 package org.jdrupes.mdoclet;
 
+import com.sun.source.doctree.DocTree;
+import com.sun.source.util.DocTreeFactory;
+
+import java.util.List;
+import java.util.function.Function;
+
+import javax.lang.model.element.Name;
 import javax.tools.OptionChecker;
 
 /**
@@ -61,4 +68,67 @@ public interface MarkdownProcessor extends OptionChecker {
      */
     String toHtmlFragment(String markdown);
 
+    /**
+     * Converts the given markdown snippet directly to a list of
+     * {@link DocTree}s, thus avoiding the creation of an intermediate
+     * HTML string that has to be parsed again. As with
+     * {@link #toHtmlFragment(String)}, any surrounding block tag
+     * should be omitted. Texts are returned as {@link DocTree}s of 
+     * kind {@link DocTree.Kind#TEXT} with HTML special characters 
+     * escaped. Elements are represented by {@link DocTree}s of kind
+     * {@link DocTree.Kind#START_ELEMENT} and 
+     * {@link DocTree.Kind#END_ELEMENT}.
+     * 
+     * Implementing this method is optional. It may also be
+     * implemented for a subset of markdown only. If the method
+     * returns `null`, {@link #toHtmlFragment(String)} is used.
+     * The default implementation always returns `null`.
+     *
+     * @param markdown the markdown text
+     * @param factory the factory for creating the doc trees
+     * @param names provides the names of elements and attributes
+     * @return the result or `null`
+     * @since 4.3
+     */
+    default List<DocTree> toDocTreeFragment(String markdown,
+            DocTreeFactory factory, Function<CharSequence, Name> names) {
+        return null;
+    }
+
+    /**
+     * Indicates whether the processor renders text that does not 
+     * contain any markdown syntax in the way that the CommonMark
+     * specification defines. The text must be rendered as a single
+     * paragraph (`<p>...</p>` followed by a line break) with the 
+     * lines' leading and trailing spaces removed and the lines 
+     * separated by a line break. For fragments, the paragraph tags 
+     * are omitted.
+     * 
+     * If the processor returns `true`, such texts are not passed to
+     * the processor at all. The default implementation returns
+     * `false`.
+     *
+     * @return `true` if plain text is rendered as described
+     * @since 4.3
+     */
+    default boolean isPlainTextTransparent() {
+        return false;
+    }
+
+    /**
+     * Indicates whether {@link #toHtml(String)} and 
+     * {@link #toHtmlFragment(String)} may be invoked concurrently
+     * by several threads once {@link #start(String[])} has returned.
+     * 
+     * The doclet only converts comments in parallel if the processor
+     * declares itself as thread safe. The default implementation
+     * returns `false`.
+     * 
+     * @return `true` if the conversion methods are reentrant
+     * @since 4.3
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
 }
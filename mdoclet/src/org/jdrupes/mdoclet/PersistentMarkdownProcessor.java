@@ -0,0 +1,380 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet;
+
+import com.sun.source.doctree.DocTree;
+import com.sun.source.util.DocTreeFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.lang.model.element.Name;
+
+/**
+ * A {@link MarkdownProcessor} that keeps the results of the
+ * {@link MarkdownProcessor} passed to the constructor in a file,
+ * thus making them available to subsequent runs.
+ *
+ * The results are stored with the SHA-256 hash of the Markdown
+ * source, the kind of conversion, the processor's class name, the
+ * options passed to the processor and the doclet's version as key.
+ * The file is a sequence of records, each consisting of the key,
+ * the length of the result and the result encoded as UTF-8.
+ * When the cache is opened, the file is mapped into memory and an
+ * index is built. New results are appended when the cache is closed.
+ *
+ * Records that have not been used during a run are dropped if
+ * they make up more than half of the file. This prevents the file
+ * from growing endlessly with results for texts that have been
+ * changed in the meantime.
+ *
+ * Lookups and additions are thread safe. The processor is therefore
+ * thread safe as a whole if the processor that it delegates to is
+ * thread safe.
+ */
+public class PersistentMarkdownProcessor implements MarkdownProcessor {
+
+    /** The name of the file in the cache directory. */
+    public static final String CACHE_FILE = "mdoclet-render-cache.bin";
+
+    private static final int MAGIC = 0x4d44_4301;
+    private static final int KEY_SIZE = 32;
+
+    private final MarkdownProcessor processor;
+    private final Path cacheFile;
+    private byte[] keyPrefix;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private boolean truncated;
+    private final Map<ByteBuffer, Long> index = new HashMap<>();
+    private final Set<ByteBuffer> used = new HashSet<>();
+    private final Map<ByteBuffer, byte[]> added = new HashMap<>();
+    private long hits;
+    private long misses;
+    private long loaded;
+    private long dropped;
+
+    /**
+     * Creates a new processor that uses a file in the given 
+     * directory for storing the results.
+     *
+     * @param processor the processor to delegate to
+     * @param cacheDir the cache directory
+     */
+    public PersistentMarkdownProcessor(MarkdownProcessor processor,
+            Path cacheDir) {
+        this.processor = processor;
+        this.cacheFile = cacheDir.resolve(CACHE_FILE);
+    }
+
+    @Override
+    public int isSupportedOption(String option) {
+        return processor.isSupportedOption(option);
+    }
+
+    @Override
+    public void start(String[] options) {
+        processor.start(options);
+        StringBuilder prefix = new StringBuilder(200);
+        prefix.append(processor.getClass().getName()).append('\0')
+            .append(docletVersion()).append('\0');
+        for (String option : options) {
+            prefix.append(option).append('\0');
+        }
+        keyPrefix = prefix.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the version of the doclet that is made part of the keys.
+     * The version is taken from the jar's manifest. If it is not
+     * available (e.g. when running from an IDE), results from 
+     * different builds cannot be told apart and the cache must not 
+     * be used.
+     *
+     * @return the version or `null` if the version is unknown
+     */
+    public static String docletVersion() {
+        return MDoclet.class.getPackage().getImplementationVersion();
+    }
+
+    /**
+     * Opens the cache file and builds the index. Must be called
+     * after {@link #start(String[])}. A missing file is not 
+     * considered an error; the file is created when the cache is 
+     * closed. A file with unexpected content is ignored and 
+     * overwritten.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void open() throws IOException {
+        if (!Files.exists(cacheFile)) {
+            return;
+        }
+        channel = FileChannel.open(cacheFile, StandardOpenOption.READ);
+        if (channel.size() > Integer.MAX_VALUE) {
+            // Mapping is restricted to 2GB, start over.
+            channel.close();
+            channel = null;
+            return;
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (mapped.remaining() < Integer.BYTES || mapped.getInt() != MAGIC) {
+            release();
+            return;
+        }
+        int validEnd = mapped.position();
+        while (mapped.remaining() >= KEY_SIZE + Integer.BYTES) {
+            byte[] key = new byte[KEY_SIZE];
+            mapped.get(key);
+            int length = mapped.getInt();
+            if (length < 0 || length > mapped.remaining()) {
+                break;
+            }
+            index.put(ByteBuffer.wrap(key),
+                ((long) mapped.position() << 32) | length);
+            mapped.position(mapped.position() + length);
+            validEnd = mapped.position();
+        }
+        // A truncated record or a trailing fragment (e.g. from an
+        // interrupted run) must not be followed by appended records,
+        // see close().
+        truncated = validEnd < mapped.limit();
+        loaded = index.size();
+    }
+
+    private void release() throws IOException {
+        channel.close();
+        this.channel = null;
+        mapped = null;
+        index.clear();
+    }
+
+    private ByteBuffer key(char kind, String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(keyPrefix);
+            digest.update((byte) kind);
+            digest.update(markdown.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return processor.isThreadSafe();
+    }
+
+    @Override
+    public boolean isPlainTextTransparent() {
+        return processor.isPlainTextTransparent();
+    }
+
+    /**
+     * Delegates to the processor. The results are not cached 
+     * because they cannot be shared between invocations.
+     */
+    @Override
+    public List<DocTree> toDocTreeFragment(String markdown,
+            DocTreeFactory factory, Function<CharSequence, Name> names) {
+        return processor.toDocTreeFragment(markdown, factory, names);
+    }
+
+    private synchronized String lookup(ByteBuffer key) {
+        Long location = index.get(key);
+        if (location != null) {
+            hits += 1;
+            used.add(key);
+            byte[] bytes = new byte[(int) (location & 0xffff_ffffL)];
+            mapped.get((int) (location >>> 32), bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = added.get(key);
+        if (bytes != null) {
+            hits += 1;
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        misses += 1;
+        return null;
+    }
+
+    private synchronized void store(ByteBuffer key, String result) {
+        added.put(key, result.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String toHtml(String markdown) {
+        ByteBuffer key = key('d', markdown);
+        String result = lookup(key);
+        if (result == null) {
+            result = processor.toHtml(markdown);
+            store(key, result);
+        }
+        return result;
+    }
+
+    @Override
+    public String toHtmlFragment(String markdown) {
+        ByteBuffer key = key('f', markdown);
+        String result = lookup(key);
+        if (result == null) {
+            result = processor.toHtmlFragment(markdown);
+            store(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Writes the results added during this run to the cache file
+     * and releases all resources. If more than half of the 
+     * records in the file have not been used during this run,
+     * or if the file ends with an incomplete record, the file is
+     * rewritten with only the used records.
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public synchronized void close() throws IOException {
+        try {
+            if (mapped != null
+                && (truncated || used.size() * 2 < index.size())) {
+                compact();
+            } else {
+                append();
+            }
+        } finally {
+            if (channel != null) {
+                release();
+            }
+            added.clear();
+        }
+    }
+
+    private void append() throws IOException {
+        if (added.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(cacheFile.getParent());
+        boolean create = mapped == null;
+        try (FileChannel out = FileChannel.open(cacheFile,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            create ? StandardOpenOption.TRUNCATE_EXISTING
+                : StandardOpenOption.APPEND)) {
+            if (create) {
+                out.write(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC)
+                    .flip());
+            }
+            writeRecords(out, new ArrayList<>(added.entrySet()));
+        }
+    }
+
+    private void compact() throws IOException {
+        List<Map.Entry<ByteBuffer, byte[]>> records = new ArrayList<>();
+        for (ByteBuffer key : used) {
+            long location = index.get(key);
+            byte[] bytes = new byte[(int) (location & 0xffff_ffffL)];
+            mapped.get((int) (location >>> 32), bytes);
+            records.add(Map.entry(key, bytes));
+        }
+        records.addAll(added.entrySet());
+        dropped = index.size() - used.size();
+        Path tmpFile = cacheFile.resolveSibling(CACHE_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tmpFile,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.write(ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+            writeRecords(out, records);
+        }
+        release();
+        Files.move(tmpFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeRecords(FileChannel out,
+            List<Map.Entry<ByteBuffer, byte[]>> records) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(KEY_SIZE + Integer.BYTES);
+        for (var record : records) {
+            header.clear();
+            header.put(record.getKey().duplicate().rewind());
+            header.putInt(record.getValue().length);
+            header.flip();
+            ByteBuffer[] buffers
+                = { header, ByteBuffer.wrap(record.getValue()) };
+            while (buffers[1].hasRemaining()) {
+                out.write(buffers);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of results that were taken from the cache.
+     *
+     * @return the hits
+     */
+    public synchronized long hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of results that had to be obtained
+     * from the processor.
+     *
+     * @return the misses
+     */
+    public synchronized long misses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of records that were found in the cache file
+     * when the cache was opened.
+     *
+     * @return the number of records
+     */
+    public synchronized long loaded() {
+        return loaded;
+    }
+
+    /**
+     * Returns the number of records that were dropped from the cache
+     * file because they were not used.
+     *
+     * @return the number of records
+     */
+    public synchronized long dropped() {
+        return dropped;
+    }
+
+}
@@ -21,6 +21,7 @@ package org.jdrupes.mdoclet;
 import com.sun.source.doctree.AttributeTree.ValueKind;
 import com.sun.source.doctree.AuthorTree;
 import com.sun.source.doctree.DeprecatedTree;
+import com.sun.source.doctree.DocCommentTree;
 import com.sun.source.doctree.DocTree;
 import com.sun.source.doctree.EndElementTree;
 import com.sun.source.doctree.ErroneousTree;
@@ -37,12 +38,14 @@ import com.sun.source.doctree.VersionTree;
 import com.sun.source.util.DocTreeFactory;
 import com.sun.source.util.SimpleDocTreeVisitor;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 
+import javax.lang.model.element.Name;
 import javax.lang.model.util.Elements;
 
+import org.jdrupes.mdoclet.events.MarkdownConversionEvent;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
@@ -50,18 +53,60 @@ import org.jsoup.nodes.TextNode;
 
 public class TreeConverter {
 
-    private static final Pattern SCAN_RE
-        = Pattern.compile("««@([0-9]+)»»");
+    /*
+     * Specials are replaced by characters from Unicode's private use
+     * area, starting with PLACEHOLDER_BASE. The placeholder for the
+     * n-th special is PLACEHOLDER_BASE + n. This allows them to be
+     * found in the processor's output without matching or parsing.
+     * The last two characters of the area are used as markers.
+     * Characters from the area that occur in a comment are replaced
+     * with placeholders for text trees with the character, so they
+     * cannot be mistaken for placeholders or markers.
+     */
+    private static final char PLACEHOLDER_BASE = '\uE000';
+    private static final int MAX_SPECIALS = '\uF8FD' - PLACEHOLDER_BASE;
+    private static final String SENTENCE_END = "\uF8FE";
+    private static final String TAG_SEPARATOR = "\uF8FF";
+    private static final String TAG_SEPARATOR_HTML
+        = "<p>" + TAG_SEPARATOR + "</p>";
+    private static final String SENTENCE_END_HTML
+        = "<p>" + SENTENCE_END + "</p>";
 
     private MarkdownProcessor processor;
     private DocTreeFactory docTreeFactory;
     private Elements elements;
+    private ConversionStatistics statistics;
+    private Object owner;
+    private boolean plainTextShortcut;
+    private final Map<List<? extends DocTree>, List<DocTree>> prepared
+        = new IdentityHashMap<>();
 
     public TreeConverter(MarkdownProcessor processor,
             DocTreeFactory docTreeFactory, Elements elements) {
+        this(processor, docTreeFactory, elements, new ConversionStatistics(),
+            null);
+    }
+
+    /**
+     * Creates a new converter that records its conversions in
+     * the given statistics.
+     *
+     * @param processor the processor
+     * @param docTreeFactory the doc tree factory
+     * @param elements the elements
+     * @param statistics the statistics
+     * @param owner the element (or other object) that the converted
+     * comment belongs to, used for the statistics only, may be `null` 
+     */
+    public TreeConverter(MarkdownProcessor processor,
+            DocTreeFactory docTreeFactory, Elements elements,
+            ConversionStatistics statistics, Object owner) {
         this.processor = processor;
         this.docTreeFactory = docTreeFactory;
         this.elements = elements;
+        this.statistics = statistics;
+        this.owner = owner;
+        plainTextShortcut = processor.isPlainTextTransparent();
     }
 
     private String toMarkdownSource(List<DocTree> specials,
@@ -71,7 +116,7 @@ public class TreeConverter {
 
                 @Override
                 public Void visitText(TextTree node, StringBuilder sb) {
-                    sb.append(node.toString());
+                    appendText(specials, sb, node.toString());
                     return null;
                 }
 
@@ -82,34 +127,39 @@ public class TreeConverter {
                  */
                 @Override
                 public Void visitLiteral(LiteralTree node, StringBuilder sb) {
-                    sb.append(node.getBody().toString());
+                    appendText(specials, sb, node.getBody().toString());
                     return null;
                 }
 
                 @Override
                 public Void visitStartElement(StartElementTree node,
                         StringBuilder sb) {
-                    sb.append(node.toString());
+                    appendText(specials, sb, node.toString());
                     return null;
                 }
 
                 @Override
                 public Void visitEndElement(EndElementTree node,
                         StringBuilder sb) {
-                    sb.append(node.toString());
+                    appendText(specials, sb, node.toString());
                     return null;
                 }
 
                 @Override
                 public Void visitErroneous(ErroneousTree node,
                         StringBuilder sb) {
-                    sb.append(node.toString());
+                    appendText(specials, sb, node.toString());
                     return null;
                 }
 
                 @Override
                 protected Void defaultAction(DocTree node, StringBuilder sb) {
-                    sb.append("««@" + specials.size() + "»»");
+                    if (specials.size() >= MAX_SPECIALS) {
+                        // Cannot happen with any sensible comment
+                        sb.append(node.toString());
+                        return null;
+                    }
+                    sb.append((char) (PLACEHOLDER_BASE + specials.size()));
                     specials.add(node);
                     return null;
                 }
@@ -119,31 +169,282 @@ public class TreeConverter {
         return sb.toString();
     }
 
+    private void appendText(List<DocTree> specials, StringBuilder sb,
+            String text) {
+        int length = text.length();
+        int copied = 0;
+        for (int i = 0; i < length; i++) {
+            char chr = text.charAt(i);
+            if (chr < PLACEHOLDER_BASE || chr > TAG_SEPARATOR.charAt(0)
+                || specials.size() >= MAX_SPECIALS) {
+                continue;
+            }
+            sb.append(text, copied, i);
+            sb.append((char) (PLACEHOLDER_BASE + specials.size()));
+            specials.add(docTreeFactory.newTextTree(String.valueOf(chr)));
+            copied = i + 1;
+        }
+        sb.append(text, copied, length);
+    }
+
     private List<DocTree> mdOutToDocTrees(List<DocTree> specials,
             String htmlText) {
         // Re-insert specials
         List<DocTree> replacement = new ArrayList<>();
-        Matcher matcher = SCAN_RE.matcher(htmlText);
         int emittedUpTo = 0;
-        while (matcher.find()) {
-            if (matcher.start() > emittedUpTo) {
-                replacement.add(docTreeFactory.newTextTree(
-                    htmlText.substring(emittedUpTo, matcher.start())));
+        int length = htmlText.length();
+        for (int i = 0; i < length; i++) {
+            int idx = htmlText.charAt(i) - PLACEHOLDER_BASE;
+            if (idx < 0 || idx >= specials.size()) {
+                continue;
             }
-            try {
-                int idx = Integer.parseInt(matcher.group(1));
-                replacement.add(specials.get(idx));
-            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            if (i > emittedUpTo) {
+                replacement.add(docTreeFactory.newTextTree(
+                    htmlText.substring(emittedUpTo, i)));
             }
-            emittedUpTo = matcher.end();
+            replacement.add(specials.get(idx));
+            emittedUpTo = i + 1;
         }
-        if (htmlText.length() > emittedUpTo) {
+        if (length > emittedUpTo) {
             replacement.add(docTreeFactory.newTextTree(
-                htmlText.substring(emittedUpTo, htmlText.length())));
+                htmlText.substring(emittedUpTo, length)));
         }
         return replacement;
     }
 
+    /**
+     * Returns the text as it would be rendered by the processor
+     * (without the enclosing paragraph tags) if the markdown source
+     * does not contain anything that might be interpreted as
+     * markdown. Else returns `null`. The check is conservative, i.e. 
+     * it may return `null` for a source that would be rendered as 
+     * plain text nevertheless. 
+     * 
+     * @param source the markdown source
+     * @return the text or `null`
+     * @see MarkdownProcessor#isPlainTextTransparent()
+     */
+    private static String plainText(String source) {
+        StringBuilder text = new StringBuilder(source.length());
+        int length = source.length();
+        int lineStart = 0;
+        boolean paragraphEnded = false;
+        while (lineStart < length) {
+            int lineEnd = source.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = length;
+            }
+            int start = lineStart;
+            while (start < lineEnd && source.charAt(start) == ' ') {
+                start++;
+            }
+            int end = lineEnd;
+            while (end > start && source.charAt(end - 1) == ' ') {
+                end--;
+            }
+            int indent = start - lineStart;
+            lineStart = lineEnd + 1;
+            if (start == end) {
+                // Blank line, ends a paragraph once we have text.
+                paragraphEnded = text.length() > 0;
+                continue;
+            }
+            if (paragraphEnded
+                // Indented code block
+                || text.length() == 0 && indent >= 4
+                // Hard line break
+                || lineEnd - end >= 2 && lineEnd < length
+                || !isPlainLine(source, start, end)) {
+                return null;
+            }
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(source, start, end);
+        }
+        return text.length() == 0 ? null : text.toString();
+    }
+
+    private static boolean isPlainLine(String source, int start, int end) {
+        // Ordered list item
+        int pos = start;
+        while (pos < end && Character.isDigit(source.charAt(pos))) {
+            pos++;
+        }
+        if (pos > start && pos < end
+            && (source.charAt(pos) == '.' || source.charAt(pos) == ')')) {
+            return false;
+        }
+        for (pos = start; pos < end; pos++) {
+            char chr = source.charAt(pos);
+            if (chr < ' ') {
+                return false;
+            }
+            switch (chr) {
+            case '*', '_', '`', '#', '[', ']', '|', '<', '>', '&', '\\', '\'',
+                    '"', '~', '=', '+', '^':
+                return false;
+            case ':':
+                // Definition
+                if (pos == start) {
+                    return false;
+                }
+                break;
+            case '-':
+                // Only allowed within words
+                if (pos == start || pos + 1 == end
+                    || !Character.isLetterOrDigit(source.charAt(pos - 1))
+                    || !Character.isLetterOrDigit(source.charAt(pos + 1))) {
+                    return false;
+                }
+                break;
+            case '.':
+                // Typographic ellipsis
+                if (pos + 1 < end && source.charAt(pos + 1) == '.'
+                    || pos + 2 < end && source.charAt(pos + 1) == ' '
+                        && source.charAt(pos + 2) == '.') {
+                    return false;
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts the first sentence, the body and the descriptions of
+     * the block tags of the given comment with a single invocation of
+     * the markdown processor. The results are kept and returned by
+     * subsequent invocations of {@link #convertFragment(List)} and
+     * {@link #convertDescription(List)} with the same lists as
+     * argument.
+     * 
+     * The parts are concatenated with markers, the descriptions of
+     * the tags coming first. This keeps the footnotes (rendered at
+     * the end of the document by some processors) with the body.
+     * Each marker is a paragraph of its own, so the parts are parsed
+     * as separate blocks, as if they were converted individually.
+     * If the result cannot be split unambiguously at the markers
+     * (e.g. because the first sentence is not converted to a single
+     * paragraph or a marker has been swallowed by a code block),
+     * nothing is kept and the parts will be converted individually.
+     * This is also the case if the first sentence starts with HTML.
+     *
+     * @param comment the comment
+     */
+    public void prepare(DocCommentTree comment) {
+        List<DocTree> specials = new ArrayList<>();
+        String sentenceSource
+            = toMarkdownSource(specials, comment.getFirstSentence());
+        if (sentenceSource.trim().startsWith("<")) {
+            // The processor may keep the paragraph around a fragment
+            // that starts with HTML, see FlexmarkProcessor#toHtmlFragment.
+            return;
+        }
+        List<List<? extends DocTree>> tagTexts = new ArrayList<>();
+        List<Boolean> tagsStartWithHtml = new ArrayList<>();
+        StringBuilder source = new StringBuilder();
+        for (DocTree tag : comment.getBlockTags()) {
+            List<? extends DocTree> text = tagText(tag);
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            String tagSource = toMarkdownSource(specials, text).trim();
+            tagTexts.add(text);
+            tagsStartWithHtml.add(tagSource.startsWith("<"));
+            source.append(tagSource).append("\n\n").append(TAG_SEPARATOR)
+                .append("\n\n");
+        }
+        source.append(sentenceSource).append("\n\n").append(SENTENCE_END)
+            .append("\n\n")
+            .append(toMarkdownSource(specials, comment.getBody()));
+        MarkdownConversionEvent event = new MarkdownConversionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        String html = processor.toHtml(source.toString());
+        recordConversion(event, "comment", false, source.length(),
+            html.length(), startTime);
+        List<String> parts = new ArrayList<>();
+        int partStart = 0;
+        while (true) {
+            int separator = html.indexOf(TAG_SEPARATOR_HTML, partStart);
+            if (separator < 0) {
+                parts.add(html.substring(partStart));
+                break;
+            }
+            parts.add(html.substring(partStart, separator));
+            partStart = separator + TAG_SEPARATOR_HTML.length();
+        }
+        if (parts.size() != tagTexts.size() + 1) {
+            return;
+        }
+
+        // Split main part into first sentence and body
+        String main = parts.get(tagTexts.size());
+        int sentenceEnd = main.indexOf(SENTENCE_END_HTML);
+        if (sentenceEnd < 0 || main.indexOf(SENTENCE_END) != sentenceEnd + 3
+            || main.lastIndexOf(SENTENCE_END) != sentenceEnd + 3
+            || main.contains(TAG_SEPARATOR)) {
+            return;
+        }
+        String firstSentence = main.substring(0, sentenceEnd).trim();
+        String body = main.substring(sentenceEnd + SENTENCE_END_HTML.length())
+            .stripLeading();
+        if (!firstSentence.isEmpty()) {
+            // The sentence must have been converted to a single paragraph.
+            if (!firstSentence.startsWith("<p>")
+                || !firstSentence.endsWith("</p>")) {
+                return;
+            }
+            firstSentence
+                = firstSentence.substring(3, firstSentence.length() - 4);
+        }
+        if (firstSentence.contains("<p>") || firstSentence.contains("</p>")) {
+            return;
+        }
+
+        // Now that the splitting has succeeded, keep the results.
+        for (int i = 0; i < tagTexts.size(); i++) {
+            String tagHtml = parts.get(i).trim();
+            if (!tagsStartWithHtml.get(i)) {
+                tagHtml = stripParagraph(tagHtml);
+            }
+            prepared.put(tagTexts.get(i), mdOutToDocTrees(specials, tagHtml));
+        }
+        prepared.put(comment.getFirstSentence(),
+            mdOutToDocTrees(specials, firstSentence));
+        prepared.put(comment.getBody(), mdOutToDocTrees(specials, body));
+    }
+
+    private static List<? extends DocTree> tagText(DocTree tag) {
+        if (tag instanceof AuthorTree author) {
+            return author.getName();
+        }
+        if (tag instanceof DeprecatedTree deprecated) {
+            return deprecated.getBody();
+        }
+        if (tag instanceof ParamTree param) {
+            return param.getDescription();
+        }
+        if (tag instanceof ReturnTree ret) {
+            return ret.getDescription();
+        }
+        if (tag instanceof ThrowsTree thrown) {
+            return thrown.getDescription();
+        }
+        return null;
+    }
+
+    private static String stripParagraph(String html) {
+        if (html.toUpperCase().startsWith("<P>")
+            && html.toUpperCase().endsWith("</P>")) {
+            return html.substring(3, html.length() - 4);
+        }
+        return html;
+    }
+
     /**
      * Converts a complete description.
      * 
@@ -155,9 +456,25 @@ public class TreeConverter {
         if (tree.isEmpty()) {
             return (List<DocTree>) tree;
         }
+        List<DocTree> result = prepared.remove(tree);
+        if (result != null) {
+            return result;
+        }
         List<DocTree> specials = new ArrayList<>();
         String markdownSource = toMarkdownSource(specials, tree);
-        String transformed = processor.toHtml(markdownSource);
+        MarkdownConversionEvent event = new MarkdownConversionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        String transformed = plainTextShortcut ? plainText(markdownSource)
+            : null;
+        boolean plain = transformed != null;
+        if (plain) {
+            transformed = "<p>" + transformed + "</p>\n";
+        } else {
+            transformed = processor.toHtml(markdownSource);
+        }
+        recordConversion(event, "description", plain,
+            markdownSource.length(), transformed.length(), startTime);
         List<DocTree> replacement = mdOutToDocTrees(specials, transformed);
         return replacement;
     }
@@ -170,21 +487,67 @@ public class TreeConverter {
      * @param tree the tree to convert
      * @return the result
      */
-    @SuppressWarnings("unchecked")
     public List<DocTree> convertFragment(List<? extends DocTree> tree) {
+        return convertFragment(tree, "fragment");
+    }
+
+    /**
+     * Converts a fragment such as the description of a tag. An attempt is
+     * made to remove any surrounding HTML tag added by the markdown
+     * processor.
+     * 
+     * @param tree the tree to convert
+     * @param kind the kind of fragment (e.g. "param"), used to
+     * record the conversion in the statistics
+     * @return the result
+     */
+    @SuppressWarnings("unchecked")
+    public List<DocTree> convertFragment(List<? extends DocTree> tree,
+            String kind) {
         if (tree.isEmpty()) {
             return (List<DocTree>) tree;
         }
+        List<DocTree> result = prepared.remove(tree);
+        if (result != null) {
+            return result;
+        }
         List<DocTree> specials = new ArrayList<>();
         String markdownSource = toMarkdownSource(specials, tree);
-        String transformed = processor.toHtmlFragment(markdownSource);
+        MarkdownConversionEvent event = new MarkdownConversionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        String transformed = plainTextShortcut ? plainText(markdownSource)
+            : null;
+        boolean plain = transformed != null;
+        if (!plain) {
+            transformed = processor.toHtmlFragment(markdownSource);
+        }
+        recordConversion(event, kind, plain, markdownSource.length(),
+            transformed.length(), startTime);
         List<DocTree> replacement = mdOutToDocTrees(specials, transformed);
         return replacement;
     }
 
+    private void recordConversion(MarkdownConversionEvent event,
+            String kind, boolean plainText, int inputChars, int outputChars,
+            long startTime) {
+        statistics.recordConversion(owner, kind, plainText, inputChars,
+            outputChars, System.nanoTime() - startTime);
+        if (event.shouldCommit()) {
+            event.element = ConversionStatistics.describe(owner);
+            event.kind = kind;
+            event.plainText = plainText;
+            event.inputChars = inputChars;
+            event.outputChars = outputChars;
+            event.commit();
+        }
+    }
+
     /**
      * Converts a "see" tag. The text is interpreted as markdown.
      * If the result is a quoted link, only the link is returned.
+     * Inline tags in the text are restored in the result, unless
+     * the processor has moved them into an attribute value.
      * 
      * @param tree the tree to convert
      * @return the result
@@ -196,7 +559,19 @@ public class TreeConverter {
         }
         List<DocTree> specials = new ArrayList<>();
         String markdownSource = toMarkdownSource(specials, tree);
+        MarkdownConversionEvent event = new MarkdownConversionEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        List<DocTree> direct = processor.toDocTreeFragment(markdownSource,
+            docTreeFactory, this::getName);
+        if (direct != null) {
+            recordConversion(event, "see", false, markdownSource.length(),
+                0, startTime);
+            return unquoteLink(insertSpecials(specials, direct));
+        }
         String transformed = processor.toHtmlFragment(markdownSource).trim();
+        recordConversion(event, "see", false, markdownSource.length(),
+            transformed.length(), startTime);
         Element target = Jsoup.parseBodyFragment(transformed).body();
         var childNodes = target.childNodes();
         if (childNodes.get(0) instanceof TextNode
@@ -204,9 +579,65 @@ public class TreeConverter {
             && childNodes.get(1) instanceof Element
             && childNodes.get(2) instanceof TextNode
             && "”".equals(((TextNode) childNodes.get(2)).text())) {
-            return nodeToDocTree((Element) childNodes.get(1));
+            return insertSpecials(specials,
+                nodeToDocTree((Element) childNodes.get(1)));
+        }
+        return insertSpecials(specials, childrenToDocTree(target));
+    }
+
+    private List<DocTree> insertSpecials(List<DocTree> specials,
+            List<DocTree> trees) {
+        if (specials.isEmpty()) {
+            return trees;
+        }
+        List<DocTree> result = new ArrayList<>();
+        for (DocTree tree : trees) {
+            if (tree instanceof TextTree text) {
+                result.addAll(mdOutToDocTrees(specials, text.getBody()));
+            } else {
+                result.add(tree);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * If the trees represent a single element enclosed in typographic
+     * quotes, return only the trees that represent the element.
+     */
+    private static List<DocTree> unquoteLink(List<DocTree> trees) {
+        int last = trees.size() - 1;
+        if (last < 3 || !isText(trees.get(0), "“", "&ldquo;")
+            || !isText(trees.get(last), "”", "&rdquo;")
+            || !(trees.get(1) instanceof StartElementTree)) {
+            return trees;
+        }
+        int depth = 0;
+        for (int i = 1; i < last; i++) {
+            DocTree tree = trees.get(i);
+            if (tree instanceof StartElementTree start
+                && !start.isSelfClosing()) {
+                depth += 1;
+            } else if (tree instanceof EndElementTree) {
+                depth -= 1;
+            }
+            if (depth == 0 && i < last - 1) {
+                return trees;
+            }
+        }
+        return new ArrayList<>(trees.subList(1, last));
+    }
+
+    private static boolean isText(DocTree tree, String... texts) {
+        if (!(tree instanceof TextTree text)) {
+            return false;
         }
-        return childrenToDocTree(target);
+        for (String candidate : texts) {
+            if (candidate.equals(text.getBody())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private List<DocTree> childrenToDocTree(Element root) {
@@ -223,11 +654,11 @@ public class TreeConverter {
             result.add(docTreeFactory.newTextTree(((TextNode) node).text()));
         } else if (node instanceof Element) {
             var element = (Element) node;
-            var tag = elements.getName(element.tagName());
+            var tag = getName(element.tagName());
             var attrs = new ArrayList<DocTree>();
             for (var attr : element.attributes()) {
                 attrs.add(docTreeFactory.newAttributeTree(
-                    elements.getName(attr.getKey()), ValueKind.DOUBLE,
+                    getName(attr.getKey()), ValueKind.DOUBLE,
                     List.of(docTreeFactory.newTextTree(attr.getValue()))));
             }
             var start = docTreeFactory.newStartElementTree(
@@ -239,6 +670,16 @@ public class TreeConverter {
         return result;
     }
 
+    /**
+     * The compiler's name table is not thread safe, but conversions
+     * may be run in parallel.
+     */
+    private Name getName(CharSequence name) {
+        synchronized (elements) {
+            return elements.getName(name);
+        }
+    }
+
     /**
      * Default conversion is a noop. 
      * 
@@ -291,7 +732,7 @@ public class TreeConverter {
      */
     public void convertTag(List<DocTree> target, AuthorTree tree) {
         target.add(docTreeFactory
-            .newAuthorTree(convertFragment(tree.getName())));
+            .newAuthorTree(convertFragment(tree.getName(), "author")));
     }
 
     /**
@@ -303,7 +744,7 @@ public class TreeConverter {
      */
     public void convertTag(List<DocTree> target, DeprecatedTree tree) {
         target.add(docTreeFactory
-            .newDeprecatedTree(convertFragment(tree.getBody())));
+            .newDeprecatedTree(convertFragment(tree.getBody(), "deprecated")));
     }
 
     /**
@@ -315,7 +756,7 @@ public class TreeConverter {
      */
     public void convertTag(List<DocTree> target, ParamTree tree) {
         target.add(docTreeFactory.newParamTree(tree.isTypeParameter(),
-            tree.getName(), convertFragment(tree.getDescription())));
+            tree.getName(), convertFragment(tree.getDescription(), "param")));
     }
 
     /**
@@ -327,7 +768,7 @@ public class TreeConverter {
      */
     public void convertTag(List<DocTree> target, ReturnTree tree) {
         target.add(docTreeFactory
-            .newReturnTree(convertFragment(tree.getDescription())));
+            .newReturnTree(convertFragment(tree.getDescription(), "return")));
     }
 
     /**
@@ -369,7 +810,7 @@ public class TreeConverter {
      */
     public void convertTag(List<DocTree> target, ThrowsTree tree) {
         target.add(docTreeFactory.newThrowsTree(tree.getExceptionName(),
-            convertFragment(tree.getDescription())));
+            convertFragment(tree.getDescription(), "throws")));
     }
 
     /**
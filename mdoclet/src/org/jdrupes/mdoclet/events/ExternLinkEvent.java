@@ -0,0 +1,48 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted for reading the element list of external documentation
+ * (options `-link` and `-linkoffline`).
+ */
+@Name("org.jdrupes.mdoclet.ExternLink")
+@Label("External Link")
+@Category({ "MDoclet", "Setup" })
+@StackTrace(false)
+public class ExternLinkEvent extends Event {
+
+    @Label("URL")
+    public String url;
+
+    @Label("Element List")
+    public String elementList;
+
+    @Label("Offline")
+    public boolean offline;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,54 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Emitted for every text that is converted from Markdown to HTML.
+ */
+@Name("org.jdrupes.mdoclet.MarkdownConversion")
+@Label("Markdown Conversion")
+@Category({ "MDoclet", "Markdown" })
+@StackTrace(false)
+public class MarkdownConversionEvent extends Event {
+
+    @Label("Element")
+    @Description("The element (or file) that the comment belongs to")
+    public String element;
+
+    @Label("Kind")
+    @Description("The kind of text, e.g. \"description\" or \"param\"")
+    public String kind;
+
+    @Label("Plain Text")
+    @Description("Converted without invoking the Markdown processor")
+    public boolean plainText;
+
+    @Label("Input Characters")
+    public int inputChars;
+
+    @Label("Output Characters")
+    public int outputChars;
+}
@@ -0,0 +1,29 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+/**
+ * This package provides the JDK Flight Recorder events that are
+ * emitted by the doclet. The events allow to profile the generation
+ * of the documentation with `-XX:StartFlightRecording` (passed to
+ * javadoc as `-J-XX:StartFlightRecording`) without any additional
+ * agents.
+ *
+ * All events belong to the category "MDoclet" and do not record
+ * stack traces.
+ */
+package org.jdrupes.mdoclet.events;
@@ -58,6 +58,7 @@ import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocPath;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocPaths;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.IndexBuilder;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.NewAPIBuilder;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.PhaseTimings;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.PreviewAPIListBuilder;
 
 import jdk.javadoc.doclet.Doclet;
@@ -235,9 +236,11 @@ public class HtmlDoclet extends AbstractDoclet {
             throws DocletException {
         super.generateOtherFiles(classTree);
         HtmlOptions options = configuration.getOptions();
+        PhaseTimings timings = configuration.phaseTimings;
         if (options.linkSource()) {
-            SourceToHTMLConverter.convertRoot(configuration,
-                DocPaths.SOURCE_OUTPUT);
+            timings.time("Source pages",
+                () -> SourceToHTMLConverter.convertRoot(configuration,
+                    DocPaths.SOURCE_OUTPUT));
         }
         // Modules with no documented classes may be specified on the
         // command line to specify a service provider, allow these.
@@ -257,52 +260,65 @@ public class HtmlDoclet extends AbstractDoclet {
         }
         // do early to reduce memory footprint
         if (options.classUse()) {
-            ClassUseWriter.generate(configuration, classTree);
+            timings.time("Class use pages",
+                () -> ClassUseWriter.generate(configuration, classTree));
         }
 
         if (options.createTree()) {
-            TreeWriter.generate(configuration, classTree);
+            timings.time("Tree pages",
+                () -> TreeWriter.generate(configuration, classTree));
         }
 
         if (configuration.conditionalPages
             .contains((HtmlConfiguration.ConditionalPage.DEPRECATED))) {
-            DeprecatedListWriter.generate(configuration);
+            timings.time("Deprecated list",
+                () -> DeprecatedListWriter.generate(configuration));
         }
 
         if (configuration.conditionalPages
             .contains((HtmlConfiguration.ConditionalPage.PREVIEW))) {
-            PreviewListWriter.generate(configuration);
+            timings.time("Preview list",
+                () -> PreviewListWriter.generate(configuration));
         }
 
         if (configuration.conditionalPages
             .contains((HtmlConfiguration.ConditionalPage.NEW))) {
-            NewAPIListWriter.generate(configuration);
+            timings.time("New API list",
+                () -> NewAPIListWriter.generate(configuration));
         }
 
         if (options.createOverview()) {
-            if (configuration.showModules) {
-                ModuleIndexWriter.generate(configuration);
-            } else {
-                PackageIndexWriter.generate(configuration);
-            }
+            timings.time("Overview", () -> {
+                if (configuration.showModules) {
+                    ModuleIndexWriter.generate(configuration);
+                } else {
+                    PackageIndexWriter.generate(configuration);
+                }
+            });
         }
 
         if (options.createIndex()) {
-            if (!options.noExternalSpecsPage()) {
-                ExternalSpecsWriter.generate(configuration);
-            }
-            SystemPropertiesWriter.generate(configuration);
-            configuration.mainIndex.addElements();
-            IndexBuilder allClassesIndex
-                = new IndexBuilder(configuration, nodeprecated, true);
-            allClassesIndex.addElements();
-            AllClassesIndexWriter.generate(configuration, allClassesIndex);
-            if (!configuration.packages.isEmpty()) {
-                AllPackagesIndexWriter.generate(configuration);
-            }
-            configuration.mainIndex.createSearchIndexFiles();
-            IndexWriter.generate(configuration);
-            SearchWriter.generate(configuration);
+            timings.time("Index", () -> {
+                if (!options.noExternalSpecsPage()) {
+                    ExternalSpecsWriter.generate(configuration);
+                }
+                SystemPropertiesWriter.generate(configuration);
+                configuration.mainIndex.addElements();
+                IndexBuilder allClassesIndex
+                    = new IndexBuilder(configuration, nodeprecated, true);
+                allClassesIndex.addElements();
+                AllClassesIndexWriter.generate(configuration,
+                    allClassesIndex);
+                if (!configuration.packages.isEmpty()) {
+                    AllPackagesIndexWriter.generate(configuration);
+                }
+            });
+            timings.time("Search index",
+                configuration.mainIndex::createSearchIndexFiles);
+            timings.time("Index pages", () -> {
+                IndexWriter.generate(configuration);
+                SearchWriter.generate(configuration);
+            });
         }
 
         if (options.createOverview()) {
@@ -313,8 +329,13 @@ public class HtmlDoclet extends AbstractDoclet {
         }
 
         if (options.helpFile().isEmpty() && !options.noHelp()) {
-            HelpWriter.generate(configuration);
+            timings.time("Help page",
+                () -> HelpWriter.generate(configuration));
         }
+        timings.time("Resources", () -> copyResources(options));
+    }
+
+    private void copyResources(HtmlOptions options) throws DocletException {
         // If a stylesheet file is not specified, copy the default stylesheet
         // and replace newline with platform-specific newline.
         DocFile f;
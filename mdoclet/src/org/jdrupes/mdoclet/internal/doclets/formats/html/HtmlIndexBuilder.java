@@ -34,9 +34,11 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 
+import org.jdrupes.mdoclet.events.SearchIndexEvent;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlTree;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.Links;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.Resources;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.CountingWriter;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFile;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFileIOException;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocPath;
@@ -217,9 +219,13 @@ public class HtmlIndexBuilder extends IndexBuilder {
             String varName)
             throws DocFileIOException {
         // The file needs to be created even if there are no searchIndex items
+        SearchIndexEvent event = new SearchIndexEvent();
+        event.begin();
         DocFile jsFile
             = DocFile.createFileForOutput(configuration, searchIndexJS);
-        try (Writer wr = jsFile.openWriter()) {
+        CountingWriter wr = null;
+        try (Writer out = jsFile.openWriter()) {
+            wr = new CountingWriter(out);
             wr.write(varName);
             wr.write(" = [");
             boolean first = true;
@@ -237,5 +243,11 @@ public class HtmlIndexBuilder extends IndexBuilder {
             throw new DocFileIOException(jsFile, DocFileIOException.Mode.WRITE,
                 ie);
         }
+        if (event.shouldCommit()) {
+            event.file = searchIndexJS.getPath();
+            event.items = indexItems.size();
+            event.characters = wr.count();
+            event.commit();
+        }
     }
 }
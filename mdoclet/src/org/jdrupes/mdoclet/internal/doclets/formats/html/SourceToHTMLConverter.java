@@ -35,6 +35,7 @@ import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.FileObject;
 
+import org.jdrupes.mdoclet.events.SourcePageEvent;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.Head;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlDocument;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlId;
@@ -200,6 +201,8 @@ public class SourceToHTMLConverter {
         if (fo == null)
             return;
 
+        SourcePageEvent event = new SourcePageEvent();
+        event.begin();
         try {
             Reader r = fo.openReader(true);
             int lineno = 1;
@@ -221,6 +224,11 @@ public class SourceToHTMLConverter {
             body.add(HtmlTree.MAIN(div));
             writeToFile(body,
                 outputdir.resolve(configuration.docPaths.forClass(te)), te);
+            if (event.shouldCommit()) {
+                event.className = te.getQualifiedName().toString();
+                event.lines = lineno - 1;
+                event.commit();
+            }
         } catch (IOException e) {
             String message
                 = resources.getText("doclet.exception.read.file", fo.getName());
@@ -35,6 +35,7 @@ import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.ContentBuilder;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlId;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlStyle;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.HtmlTree;
+import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.SerializedContent;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.Content;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocPath;
 
@@ -226,7 +227,7 @@ public abstract class SubWriterHolderWriter extends HtmlDocletWriter {
      * @return an item for the list of summaries for members of a given kind
      */
     public Content getSummariesListItem(Content content) {
-        return HtmlTree.LI(content);
+        return SerializedContent.of(HtmlTree.LI(content));
     }
 
     /**
@@ -261,7 +262,7 @@ public abstract class SubWriterHolderWriter extends HtmlDocletWriter {
      * @param member the member to represent as an item
      */
     public Content getMemberListItem(Content member) {
-        return HtmlTree.LI(member);
+        return SerializedContent.of(HtmlTree.LI(member));
     }
 
     public Content getMemberInherited() {
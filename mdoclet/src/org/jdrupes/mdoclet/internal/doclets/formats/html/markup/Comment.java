@@ -58,7 +58,7 @@ public class Comment extends Content {
             out.write(newline);
         }
         out.write("<!-- ");
-        out.write(commentText.replace("\n", newline));
+        Entity.writeTranslated(out, commentText, newline);
         out.write(" -->");
         out.write(newline);
         return true;
@@ -39,6 +39,12 @@ import org.jdrupes.mdoclet.internal.doclets.toolkit.Content;
 public class ContentBuilder extends Content {
     protected List<Content> contents = List.of();
 
+    /**
+     * The number of characters of plain text content, computed on
+     * demand and reset when content is added, -1 if not known.
+     */
+    private int charCount = -1;
+
     public ContentBuilder() {
     }
 
@@ -52,6 +58,7 @@ public class ContentBuilder extends Content {
     public ContentBuilder add(Content content) {
         Objects.requireNonNull(content);
         ensureMutableContents();
+        charCount = -1;
         if (content instanceof ContentBuilder cb) {
             contents.addAll(cb.contents);
         } else {
@@ -64,6 +71,7 @@ public class ContentBuilder extends Content {
     public ContentBuilder add(CharSequence text) {
         if (text.length() > 0) {
             ensureMutableContents();
+            charCount = -1;
             Content c
                 = contents.isEmpty() ? null : contents.get(contents.size() - 1);
             TextBuilder tb;
@@ -95,12 +103,22 @@ public class ContentBuilder extends Content {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The count is cached until content is added to this builder.
+     * Content must therefore be added to nested content before the
+     * count of this builder is requested.
+     */
     @Override
     public int charCount() {
-        int n = 0;
-        for (Content c : contents)
-            n += c.charCount();
-        return n;
+        if (charCount < 0) {
+            int n = 0;
+            for (Content c : contents)
+                n += c.charCount();
+            charCount = n;
+        }
+        return charCount;
     }
 
     private void ensureMutableContents() {
@@ -108,6 +108,64 @@ public class Entity extends Content {
         escapeHtmlChars(s.toString(), 0, sb);
     }
 
+    /**
+     * Writes a given string with the special HTML characters escaped
+     * using the appropriate entities and with the newlines replaced
+     * by the given newline sequence. Runs of characters that need no
+     * replacement are written to the writer directly, without 
+     * creating intermediate strings.
+     *
+     * @param out the writer
+     * @param s the string
+     * @param newline the newline sequence
+     * @throws IOException if an error occurs while writing the output
+     */
+    static void writeEscaped(Writer out, String s, String newline)
+            throws IOException {
+        boolean translateNewlines = !newline.equals("\n");
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String replacement = switch (s.charAt(i)) {
+            case '<' -> LESS_THAN.text;
+            case '>' -> GREATER_THAN.text;
+            case '&' -> AMPERSAND.text;
+            case '\n' -> translateNewlines ? newline : null;
+            default -> null;
+            };
+            if (replacement != null) {
+                out.write(s, start, i - start);
+                out.write(replacement);
+                start = i + 1;
+            }
+        }
+        out.write(s, start, s.length() - start);
+    }
+
+    /**
+     * Writes a given string with the newlines replaced by the given
+     * newline sequence, without creating intermediate strings.
+     *
+     * @param out the writer
+     * @param s the string
+     * @param newline the newline sequence
+     * @throws IOException if an error occurs while writing the output
+     */
+    static void writeTranslated(Writer out, String s, String newline)
+            throws IOException {
+        if (newline.equals("\n")) {
+            out.write(s);
+            return;
+        }
+        int start = 0;
+        int end;
+        while ((end = s.indexOf('\n', start)) >= 0) {
+            out.write(s, start, end - start);
+            out.write(newline);
+            start = end + 1;
+        }
+        out.write(s, start, s.length() - start);
+    }
+
     private static void escapeHtmlChars(String s, int start, StringBuilder sb) {
         for (int i = start; i < s.length(); i++) {
             char ch = s.charAt(i);
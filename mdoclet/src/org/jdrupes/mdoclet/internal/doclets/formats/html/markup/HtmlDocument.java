@@ -29,7 +29,9 @@ import java.io.IOException;
 import java.io.StringWriter;
 import java.io.Writer;
 
+import org.jdrupes.mdoclet.events.DocumentWriteEvent;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.Content;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.CountingWriter;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFile;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFileIOException;
 
@@ -57,12 +59,25 @@ public class HtmlDocument {
      * @throws DocFileIOException if an {@code IOException} occurs while writing the file
      */
     public void write(DocFile docFile) throws DocFileIOException {
+        DocumentWriteEvent event = new DocumentWriteEvent();
+        event.begin();
+        CountingWriter counter = null;
         try (Writer writer = docFile.openWriter()) {
-            write(writer, DocFile.PLATFORM_LINE_SEPARATOR);
+            if (event.isEnabled()) {
+                counter = new CountingWriter(writer);
+                write(counter, DocFile.PLATFORM_LINE_SEPARATOR);
+            } else {
+                write(writer, DocFile.PLATFORM_LINE_SEPARATOR);
+            }
         } catch (IOException e) {
             throw new DocFileIOException(docFile, DocFileIOException.Mode.WRITE,
                 e);
         }
+        if (counter != null && event.shouldCommit()) {
+            event.file = docFile.getPath();
+            event.characters = counter.count();
+            event.commit();
+        }
     }
 
     @Override
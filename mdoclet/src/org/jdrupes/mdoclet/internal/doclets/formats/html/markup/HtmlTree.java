@@ -80,6 +80,12 @@ public class HtmlTree extends Content {
      */
     private List<Content> content = List.of();
 
+    /**
+     * The number of characters of plain text content, computed on
+     * demand and reset when content is added, -1 if not known.
+     */
+    private int charCount = -1;
+
     /**
      * Creates an {@code HTMLTree} object representing an HTML element
      * with the given name.
@@ -171,6 +177,7 @@ public class HtmlTree extends Content {
      */
     @Override
     public HtmlTree add(Content content) {
+        charCount = -1;
         if (content instanceof ContentBuilder cb) {
             cb.contents.forEach(this::add);
         } else if (!content.isDiscardable()) {
@@ -189,6 +196,7 @@ public class HtmlTree extends Content {
      * @return this HTML tree
      */
     public HtmlTree addUnchecked(Content content) {
+        charCount = -1;
         if (content instanceof ContentBuilder cb) {
             cb.contents.forEach(this::addUnchecked);
         } else {
@@ -210,6 +218,7 @@ public class HtmlTree extends Content {
      */
     @Override
     public HtmlTree add(CharSequence stringContent) {
+        charCount = -1;
         if (!content.isEmpty()) {
             Content lastContent = content.get(content.size() - 1);
             if (lastContent instanceof TextBuilder)
@@ -249,13 +258,23 @@ public class HtmlTree extends Content {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * The count is cached until content is added to this tree.
+     * Content must therefore be added to nested trees before the
+     * count of an enclosing tree is requested.
+     */
     @Override
     public int charCount() {
-        int n = 0;
-        for (Content c : content) {
-            n += c.charCount();
+        if (charCount < 0) {
+            int n = 0;
+            for (Content c : content) {
+                n += c.charCount();
+            }
+            charCount = n;
         }
-        return n;
+        return charCount;
     }
 
     /*
@@ -48,9 +48,15 @@ public class RawHtml extends Content {
      */
     public static RawHtml of(CharSequence rawHtml) {
         return new RawHtml(rawHtml) {
+            // The content is immutable, so scan it only once
+            private int charCount = -1;
+
             @Override
             public int charCount() {
-                return charCount(rawHtmlContent);
+                if (charCount < 0) {
+                    charCount = charCount(rawHtmlContent);
+                }
+                return charCount;
             }
         };
     }
@@ -192,7 +198,7 @@ public class RawHtml extends Content {
     @Override
     public boolean write(Writer out, String newline, boolean atNewline)
             throws IOException {
-        out.write(rawHtmlContent.replace("\n", newline));
+        Entity.writeTranslated(out, rawHtmlContent, newline);
         return rawHtmlContent.endsWith("\n");
     }
 }
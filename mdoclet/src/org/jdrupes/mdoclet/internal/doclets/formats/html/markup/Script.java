@@ -200,7 +200,7 @@ public class Script {
         public boolean write(Writer writer, String newline, boolean atNewline)
                 throws IOException {
             String s = sb.toString();
-            writer.write(s.replace("\n", newline));
+            Entity.writeTranslated(writer, s, newline);
             return s.endsWith("\n");
         }
 
@@ -0,0 +1,107 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.internal.doclets.formats.html.markup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import org.jdrupes.mdoclet.internal.doclets.toolkit.Content;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFile;
+
+/**
+ * An element that has been serialized as soon as it was complete.
+ * 
+ * Pages are built as a tree of {@link Content} nodes that is
+ * written when the page is complete. For pages with many members,
+ * the tree for the member details and summaries uses a lot of
+ * memory. The writers therefore replace the (completed) items for 
+ * the members and summaries with their serialized form. This 
+ * allows the nodes to be released long before the page is written.
+ * 
+ * An element's output does not depend on the preceding content,
+ * except for the newline that is written before a block element
+ * if the writer is not at the beginning of a line. This newline
+ * is added when the serialized element is written, which makes 
+ * the output the same as if the element had been written directly.
+ * The element is serialized using the newline used when writing
+ * files, which is the common case.
+ */
+public class SerializedContent extends Content {
+
+    private final String html;
+    private final boolean inline;
+    private final boolean empty;
+    private final boolean discardable;
+    private final int charCount;
+
+    private SerializedContent(HtmlTree tree) throws IOException {
+        StringWriter out = new StringWriter();
+        tree.write(out, DocFile.PLATFORM_LINE_SEPARATOR, true);
+        html = out.toString();
+        inline = tree.isInline();
+        empty = tree.isEmpty();
+        discardable = tree.isDiscardable();
+        charCount = tree.charCount();
+    }
+
+    /**
+     * Returns the serialized form of the given element.
+     *
+     * @param tree the element, which must not be modified afterwards
+     * @return the content
+     */
+    public static Content of(HtmlTree tree) {
+        try {
+            return new SerializedContent(tree);
+        } catch (IOException e) {
+            // cannot happen from StringWriter
+            throw new AssertionError(e);
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    @Override
+    public boolean isDiscardable() {
+        return discardable;
+    }
+
+    @Override
+    public int charCount() {
+        return charCount;
+    }
+
+    @Override
+    public boolean write(Writer out, String newline, boolean atNewline)
+            throws IOException {
+        if (!inline && !atNewline) {
+            out.write(newline);
+        }
+        if (newline.equals(DocFile.PLATFORM_LINE_SEPARATOR)) {
+            out.write(html);
+        } else {
+            out.write(html.replace(DocFile.PLATFORM_LINE_SEPARATOR, newline));
+        }
+        return !inline;
+    }
+}
@@ -83,7 +83,7 @@ public class Text extends Content {
     @Override
     public boolean write(Writer out, String newline, boolean atNewline)
             throws IOException {
-        out.write(Entity.escapeHtmlChars(string).replace("\n", newline));
+        Entity.writeEscaped(out, string, newline);
         return string.endsWith("\n");
     }
 
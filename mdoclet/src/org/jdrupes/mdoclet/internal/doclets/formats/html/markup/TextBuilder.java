@@ -87,8 +87,10 @@ public class TextBuilder extends Content {
     @Override
     public boolean write(Writer out, String newline, boolean atNewline)
             throws IOException {
-        String s = Entity.escapeHtmlChars(stringBuilder);
-        out.write(s.replace("\n", newline));
+        // Convert to string once as CharSequence implementations can be
+        // slow - see JDK-8263321
+        String s = stringBuilder.toString();
+        Entity.writeEscaped(out, s, newline);
         return s.endsWith("\n");
     }
 }
@@ -25,6 +25,11 @@
 
 package org.jdrupes.mdoclet.internal.doclets.toolkit;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -41,10 +46,12 @@ import org.jdrupes.mdoclet.internal.doclets.toolkit.util.ClassTree;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFileIOException;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.ElementListWriter;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.InternalException;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.PhaseTimings;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.ResourceIOException;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.SimpleDocletException;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.UncheckedDocletException;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Utils;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.WriteBehindQueue;
 
 import jdk.javadoc.doclet.Doclet;
 import jdk.javadoc.doclet.DocletEnvironment;
@@ -207,16 +214,65 @@ public abstract class AbstractDoclet implements Doclet {
         }
         messages.notice("doclet.build_version",
             configuration.getDocletVersion());
-        ClassTree classTree = new ClassTree(configuration);
+        BaseOptions options = configuration.getOptions();
+        PhaseTimings timings = configuration.phaseTimings;
+        timings.setEnabled(
+            options.timings() || options.timingsFile() != null);
+        configuration.unchangedFileFilter.setEnabled(options.skipUnchanged());
+        WriteBehindQueue writeBehindQueue = configuration.writeBehindQueue;
+        if (options.writeThreads() > 0) {
+            writeBehindQueue.start(options.writeThreads(),
+                options.writeBuffer() * 1024 * 1024);
+        }
+        try {
+            ClassTree classTree = timings.compute("Class tree",
+                () -> new ClassTree(configuration));
 
-        generateClassFiles(classTree);
+            timings.time("Class pages", () -> generateClassFiles(classTree));
 
-        ElementListWriter.generate(configuration);
-        generatePackageFiles(classTree);
-        generateModuleFiles();
+            timings.time("Element list",
+                () -> ElementListWriter.generate(configuration));
+            timings.time("Package pages",
+                () -> generatePackageFiles(classTree));
+            timings.time("Module pages", this::generateModuleFiles);
 
-        generateOtherFiles(classTree);
+            timings.time("Other files", () -> generateOtherFiles(classTree));
+        } catch (DocletException | RuntimeException | Error e) {
+            // Complete the files written so far, report the first problem
+            try {
+                writeBehindQueue.finish();
+            } catch (DocFileIOException | RuntimeException | Error suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        if (writeBehindQueue.isActive()) {
+            timings.time("Pending writes", writeBehindQueue::finish);
+        }
         configuration.tagletManager.printReport();
+        if (configuration.unchangedFileFilter.isEnabled()) {
+            messages.notice("doclet.Unchanged_files_skipped",
+                configuration.unchangedFileFilter.skippedFiles(),
+                configuration.unchangedFileFilter.skippedBytes());
+        }
+        reportTimings();
+    }
+
+    private void reportTimings() {
+        BaseOptions options = configuration.getOptions();
+        if (options.timings()) {
+            configuration.phaseTimings
+                .printTable(configuration.reporter.getStandardWriter());
+        }
+        if (options.timingsFile() != null) {
+            try (Writer out = Files.newBufferedWriter(
+                Path.of(options.timingsFile()), StandardCharsets.UTF_8)) {
+                configuration.phaseTimings.writeJson(out);
+            } catch (IOException e) {
+                messages.error("doclet.exception.write.file",
+                    options.timingsFile(), e.getMessage());
+            }
+        }
     }
 
     /**
@@ -228,12 +284,13 @@ public abstract class AbstractDoclet implements Doclet {
     protected void generateOtherFiles(ClassTree classTree)
             throws DocletException {
         BuilderFactory builderFactory = configuration.getBuilderFactory();
+        PhaseTimings timings = configuration.phaseTimings;
         AbstractBuilder constantsSummaryBuilder
             = builderFactory.getConstantsSummaryBuilder();
-        constantsSummaryBuilder.build();
+        timings.time("Constants summary", constantsSummaryBuilder::build);
         AbstractBuilder serializedFormBuilder
             = builderFactory.getSerializedFormBuilder();
-        serializedFormBuilder.build();
+        timings.time("Serialized form", serializedFormBuilder::build);
     }
 
     /**
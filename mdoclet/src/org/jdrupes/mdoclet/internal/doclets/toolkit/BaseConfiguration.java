@@ -57,6 +57,7 @@ import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
 import javax.tools.StandardJavaFileManager;
 
+import org.jdrupes.mdoclet.events.DocLintEvent;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.builders.BuilderFactory;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.taglets.TagletManager;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Comparators;
@@ -65,11 +66,14 @@ import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFileFactory;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Extern;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Group;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.MetaKeywords;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.PhaseTimings;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.SimpleDocletException;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.TypeElementCatalog;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Utils;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.VisibleMemberCache;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.UnchangedFileFilter;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.VisibleMemberTable;
+import org.jdrupes.mdoclet.internal.doclets.toolkit.util.WriteBehindQueue;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.Utils.Pair;
 import org.jdrupes.mdoclet.internal.doclint.DocLint;
 import org.jdrupes.mdoclet.internal.doclint.Env;
@@ -150,6 +154,22 @@ public abstract class BaseConfiguration {
      */
     public Extern extern;
 
+    /**
+     * The recorder for the cost of the phases of the generation.
+     */
+    public final PhaseTimings phaseTimings = new PhaseTimings();
+
+    /**
+     * The queue for writing text files in the background.
+     */
+    public final WriteBehindQueue writeBehindQueue = new WriteBehindQueue();
+
+    /**
+     * The filter that avoids rewriting unchanged files.
+     */
+    public final UnchangedFileFilter unchangedFileFilter
+        = new UnchangedFileFilter();
+
     public final Reporter reporter;
 
     public final Locale locale;
@@ -762,7 +782,13 @@ public abstract class BaseConfiguration {
         CompilationUnitTree unit = path.getCompilationUnit();
         if (doclint != null
             && shouldCheck.computeIfAbsent(unit, doclint::shouldCheck)) {
+            DocLintEvent event = new DocLintEvent();
+            event.begin();
             doclint.scan(path);
+            if (event.shouldCommit()) {
+                event.sourceFile = unit.getSourceFile().getName();
+                event.commit();
+            }
         }
     }
 
@@ -317,6 +317,46 @@ public abstract class BaseOptions {
      */
     private boolean summarizeOverriddenMethods = false;
 
+    /**
+     * Argument for command-line option {@code --timings}.
+     * Report the cost of the phases of the generation.
+     */
+    private boolean timings = false;
+
+    /**
+     * Argument for command-line option {@code --timings-file}.
+     * The file to write the cost of the phases to (as JSON).
+     */
+    private String timingsFile = null;
+
+    /**
+     * Argument for command-line option {@code --skip-unchanged}.
+     * True if existing output files with unchanged content should
+     * not be rewritten.
+     */
+    private boolean skipUnchanged = false;
+
+    /**
+     * Argument for command-line option {@code --link-doc-files}.
+     * True if files that are copied unchanged (such as the files
+     * in doc-files directories) should be linked if possible.
+     */
+    private boolean linkDocFiles = false;
+
+    /**
+     * Argument for command-line option {@code --write-threads}.
+     * The number of threads that write the text files in the
+     * background, 0 if the files are written immediately.
+     */
+    private int writeThreads = 0;
+
+    /**
+     * Argument for command-line option {@code --write-buffer}.
+     * The maximum size (in MB) of the text files waiting to be
+     * written in the background.
+     */
+    private int writeBuffer = 64;
+
     /**
      * Argument for command-line option {@code -tagletpath}.
      * The path to Taglets
@@ -729,6 +769,76 @@ public abstract class BaseOptions {
                     showTaglets = true;
                     return true;
                 }
+            },
+
+            new Option(resources, "--timings") {
+                @Override
+                public boolean process(String opt, List<String> args) {
+                    timings = true;
+                    return true;
+                }
+            },
+
+            new Option(resources, "--timings-file", 1) {
+                @Override
+                public boolean process(String opt, List<String> args) {
+                    timingsFile = args.get(0);
+                    return true;
+                }
+            },
+
+            new Option(resources, "--skip-unchanged") {
+                @Override
+                public boolean process(String opt, List<String> args) {
+                    skipUnchanged = true;
+                    return true;
+                }
+            },
+
+            new Option(resources, "--link-doc-files") {
+                @Override
+                public boolean process(String opt, List<String> args) {
+                    linkDocFiles = true;
+                    return true;
+                }
+            },
+
+            new Option(resources, "--write-threads", 1) {
+                @Override
+                public boolean process(String opt, List<String> args) {
+                    String arg = args.get(0);
+                    try {
+                        writeThreads = Integer.parseInt(arg);
+                    } catch (NumberFormatException e) {
+                        writeThreads = -1;
+                    }
+                    if (writeThreads < 0) {
+                        config.reporter.print(ERROR,
+                            config.getDocResources().getText(
+                                "doclet.Invalid_thread_count", arg));
+                        return false;
+                    }
+                    return true;
+                }
+            },
+
+            new Option(resources, "--write-buffer", 1) {
+                @Override
+                public boolean process(String opt, List<String> args) {
+                    String arg = args.get(0);
+                    try {
+                        writeBuffer = Integer.parseInt(arg);
+                    } catch (NumberFormatException e) {
+                        writeBuffer = 0;
+                    }
+                    if (writeBuffer <= 0 || writeBuffer > 2047) {
+                        config.reporter.print(ERROR,
+                            config.getDocResources().getText(
+                                "doclet.Invalid_buffer_size", arg));
+                        return false;
+                    }
+                    return true;
+                }
             });
         return new TreeSet<>(options);
     }
@@ -1104,6 +1214,58 @@ public abstract class BaseOptions {
         return summarizeOverriddenMethods;
     }
 
+    /**
+     * Argument for command-line option {@code --timings}.
+     * Report the cost of the phases of the generation.
+     */
+    public boolean timings() {
+        return timings;
+    }
+
+    /**
+     * Argument for command-line option {@code --timings-file}.
+     * The file to write the cost of the phases to (as JSON).
+     */
+    public String timingsFile() {
+        return timingsFile;
+    }
+
+    /**
+     * Argument for command-line option {@code --skip-unchanged}.
+     * True if existing output files with unchanged content should
+     * not be rewritten.
+     */
+    public boolean skipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * Argument for command-line option {@code --link-doc-files}.
+     * True if files that are copied unchanged (such as the files
+     * in doc-files directories) should be linked if possible.
+     */
+    public boolean linkDocFiles() {
+        return linkDocFiles;
+    }
+
+    /**
+     * Argument for command-line option {@code --write-threads}.
+     * The number of threads that write the text files in the
+     * background, 0 if the files are written immediately.
+     */
+    public int writeThreads() {
+        return writeThreads;
+    }
+
+    /**
+     * Argument for command-line option {@code --write-buffer}.
+     * The maximum size (in MB) of the text files waiting to be
+     * written in the background.
+     */
+    public int writeBuffer() {
+        return writeBuffer;
+    }
+
     /**
      * Argument for command-line option {@code -tagletpath}.
      * The path to Taglets
@@ -37,6 +37,7 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 
+import org.jdrupes.mdoclet.events.ClassBuildEvent;
 import org.jdrupes.mdoclet.internal.doclets.formats.html.markup.ContentBuilder;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.ClassWriter;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.CommentUtils;
@@ -97,7 +98,13 @@ public class ClassBuilder extends AbstractBuilder {
 
     @Override
     public void build() throws DocletException {
+        ClassBuildEvent event = new ClassBuildEvent();
+        event.begin();
         buildClassDoc();
+        if (event.shouldCommit()) {
+            event.className = typeElement.getQualifiedName().toString();
+            event.commit();
+        }
     }
 
     /**
@@ -298,7 +298,8 @@ public abstract class TagletWriter {
 
         Content output = getOutputInstance();
         Utils utils = configuration().utils;
-        tagletManager.checkTags(element, utils.getBlockTags(element));
+        tagletManager.checkTags(element,
+            utils.getUnconvertedBlockTags(element));
         tagletManager.checkTags(element, utils.getFullBody(element));
         for (Taglet taglet : taglets) {
             if (utils.isTypeElement(element) && taglet instanceof ParamTaglet) {
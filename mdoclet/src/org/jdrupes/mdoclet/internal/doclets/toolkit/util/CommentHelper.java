@@ -66,6 +66,7 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 
+import org.jdrupes.mdoclet.LazyBlockTags;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.BaseConfiguration;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.util.DocFinder.Result;
 
@@ -512,6 +513,10 @@ public class CommentHelper {
         if (path == null || dcTree == null || dtree == null) {
             return null;
         }
+        if (dcTree.getBlockTags() instanceof LazyBlockTags lazy) {
+            // Only the converted tags can be found in the tree.
+            dtree = lazy.converted(dtree);
+        }
         DocTreePath dtPath = DocTreePath.getPath(path, dcTree, dtree);
         if (dtPath == null && element instanceof ExecutableElement ee) {
             // The overriding element has a doc tree, but it doesn't contain
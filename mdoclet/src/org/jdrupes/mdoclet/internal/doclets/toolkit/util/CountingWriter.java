@@ -0,0 +1,67 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.internal.doclets.toolkit.util;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A writer that counts the characters written to the underlying
+ * writer. Used to report the size of generated files in events.
+ */
+public class CountingWriter extends FilterWriter {
+    private long count;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param out the underlying writer
+     */
+    public CountingWriter(Writer out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int chr) throws IOException {
+        out.write(chr);
+        count++;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        out.write(cbuf, off, len);
+        count += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        out.write(str, off, len);
+        count += len;
+    }
+
+    /**
+     * Returns the number of characters written.
+     *
+     * @return the count
+     */
+    public long count() {
+        return count;
+    }
+}
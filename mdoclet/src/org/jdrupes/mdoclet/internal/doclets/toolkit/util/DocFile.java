@@ -164,6 +164,17 @@ public abstract class DocFile {
     public abstract Writer openWriter()
             throws DocFileIOException, UnsupportedEncodingException;
 
+    /**
+     * Open a writer for the file that writes to the file immediately,
+     * even if the configuration's {@link WriteBehindQueue} is active.
+     *
+     * @return an open output stream for the file
+     * @throws DocFileIOException if there is a problem opening the stream
+     * @throws UnsupportedEncodingException if the configured encoding is not supported
+     */
+    abstract Writer openUnqueuedWriter()
+            throws DocFileIOException, UnsupportedEncodingException;
+
     /**
      * Copy the contents of another file directly to this file.
      *
@@ -173,7 +184,7 @@ public abstract class DocFile {
     public void copyFile(DocFile fromFile) throws DocFileIOException {
         try (OutputStream output = openOutputStream()) {
             try (InputStream input = fromFile.openInputStream()) {
-                byte[] bytearr = new byte[1024];
+                byte[] bytearr = new byte[8192];
                 int len;
                 while ((len = read(fromFile, input, bytearr)) != -1) {
                     write(this, output, bytearr, len);
@@ -251,7 +262,7 @@ public abstract class DocFile {
                     }
                 } else {
                     try (OutputStream out = openOutputStream()) {
-                        byte[] buf = new byte[2048];
+                        byte[] buf = new byte[8192];
                         int n;
                         while ((n = readResource(resource, in, buf)) > 0) {
                             write(this, out, buf, n);
@@ -46,6 +46,7 @@ import javax.lang.model.element.PackageElement;
 import javax.tools.Diagnostic;
 import javax.tools.Diagnostic.Kind;
 
+import org.jdrupes.mdoclet.events.ExternLinkEvent;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.AbstractDoclet;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.BaseConfiguration;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.Resources;
@@ -415,6 +416,9 @@ public class Extern {
             boolean linkoffline)
             throws DocFileIOException {
         this.linkoffline = linkoffline;
+        ExternLinkEvent event = new ExternLinkEvent();
+        event.begin();
+        boolean success = false;
         try {
             url = adjustEndFileSeparator(url);
             if (isUrl(elemlisturl)) {
@@ -424,10 +428,19 @@ public class Extern {
                 readElementListFromFile(url,
                     DocFile.createFileForInput(configuration, elemlisturl));
             }
+            success = true;
             return true;
         } catch (Fault f) {
             reporter.print(Diagnostic.Kind.ERROR, f.getMessage());
             return false;
+        } finally {
+            if (event.shouldCommit()) {
+                event.url = url;
+                event.elementList = elemlisturl;
+                event.offline = linkoffline;
+                event.success = success;
+                event.commit();
+            }
         }
     }
 
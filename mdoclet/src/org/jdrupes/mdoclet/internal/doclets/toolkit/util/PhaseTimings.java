@@ -0,0 +1,220 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.internal.doclets.toolkit.util;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jdrupes.mdoclet.internal.doclets.toolkit.DocletException;
+
+/**
+ * Records the cost of the phases of the documentation generation
+ * (option `--timings`).
+ * 
+ * For every phase, the wall time, the CPU time and the allocated bytes
+ * of the process (i.e. of all threads) and the number of output files
+ * are recorded. Phases may be nested. If recording is disabled, 
+ * the actions are simply executed.
+ */
+public class PhaseTimings {
+
+    private final com.sun.management.OperatingSystemMXBean osBean
+        = (com.sun.management.OperatingSystemMXBean) ManagementFactory
+            .getOperatingSystemMXBean();
+    private final com.sun.management.ThreadMXBean threadBean
+        = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+    private final LongAdder outputFiles = new LongAdder();
+    private final List<Phase> phases = new ArrayList<>();
+    private boolean enabled;
+    private int depth;
+
+    /**
+     * An action that is executed as a phase.
+     */
+    @FunctionalInterface
+    public interface Action {
+
+        /**
+         * Executes the action.
+         *
+         * @throws DocletException if a problem occurs
+         */
+        void run() throws DocletException;
+    }
+
+    /**
+     * A computation that is executed as a phase.
+     *
+     * @param <T> the type of the result
+     */
+    @FunctionalInterface
+    public interface Computation<T> {
+
+        /**
+         * Executes the computation.
+         *
+         * @return the result
+         * @throws DocletException if a problem occurs
+         */
+        T compute() throws DocletException;
+    }
+
+    /**
+     * The recorded data of a phase.
+     *
+     * @param name the name
+     * @param depth the nesting depth
+     * @param wallNanos the wall time
+     * @param cpuNanos the CPU time used by the process
+     * @param allocatedBytes the bytes allocated by all threads
+     * @param outputFiles the number of output files
+     */
+    public record Phase(String name, int depth, long wallNanos,
+            long cpuNanos, long allocatedBytes, long outputFiles) {
+    }
+
+    /**
+     * Enables or disables the recording.
+     *
+     * @param enabled the new value
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks if recording is enabled.
+     *
+     * @return true, if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Notes that an output file has been opened for writing. May be
+     * invoked concurrently.
+     */
+    public void fileOpened() {
+        outputFiles.increment();
+    }
+
+    /**
+     * Executes the given action as a phase with the given name.
+     *
+     * @param name the name of the phase
+     * @param action the action
+     * @throws DocletException if thrown by the action
+     */
+    public void time(String name, Action action) throws DocletException {
+        compute(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executes the given computation as a phase with the given name.
+     *
+     * @param <T> the type of the result
+     * @param name the name of the phase
+     * @param computation the computation
+     * @return the result of the computation
+     * @throws DocletException if thrown by the computation
+     */
+    public <T> T compute(String name, Computation<T> computation)
+            throws DocletException {
+        if (!enabled) {
+            return computation.compute();
+        }
+        int index = phases.size();
+        phases.add(null);
+        long startWall = System.nanoTime();
+        long startCpu = osBean.getProcessCpuTime();
+        long startAllocated = threadBean.getTotalThreadAllocatedBytes();
+        long startFiles = outputFiles.sum();
+        depth += 1;
+        try {
+            return computation.compute();
+        } finally {
+            depth -= 1;
+            phases.set(index, new Phase(name, depth,
+                System.nanoTime() - startWall,
+                osBean.getProcessCpuTime() - startCpu,
+                threadBean.getTotalThreadAllocatedBytes() - startAllocated,
+                outputFiles.sum() - startFiles));
+        }
+    }
+
+    /**
+     * Returns the recorded phases in the order in which they have
+     * been started.
+     *
+     * @return the phases
+     */
+    public List<Phase> phases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    /**
+     * Prints the recorded phases as a table.
+     *
+     * @param out the writer
+     */
+    public void printTable(PrintWriter out) {
+        out.printf("%-32s %10s %10s %12s %8s%n", "Phase", "Wall [ms]",
+            "CPU [ms]", "Alloc [MB]", "Files");
+        for (Phase phase : phases) {
+            out.printf("%-32s %,10d %,10d %,12d %,8d%n",
+                "  ".repeat(phase.depth()) + phase.name(),
+                phase.wallNanos() / 1_000_000, phase.cpuNanos() / 1_000_000,
+                phase.allocatedBytes() / (1024 * 1024), phase.outputFiles());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes the recorded phases as JSON.
+     *
+     * @param out the writer
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    public void writeJson(Writer out) throws IOException {
+        out.write("{\n  \"phases\": [");
+        boolean first = true;
+        for (Phase phase : phases) {
+            out.write(first ? "\n" : ",\n");
+            first = false;
+            out.write("    {\"name\": \"" + phase.name().replace("\"", "\\\"")
+                + "\", \"depth\": " + phase.depth()
+                + ", \"wallNanos\": " + phase.wallNanos()
+                + ", \"cpuNanos\": " + phase.cpuNanos()
+                + ", \"allocatedBytes\": " + phase.allocatedBytes()
+                + ", \"outputFiles\": " + phase.outputFiles() + "}");
+        }
+        out.write("\n  ]\n}\n");
+    }
+}
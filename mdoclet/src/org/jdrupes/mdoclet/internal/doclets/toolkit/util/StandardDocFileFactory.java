@@ -34,10 +34,15 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
@@ -194,10 +199,13 @@ class StandardDocFileFactory extends DocFileFactory {
             if (location != DocumentationTool.Location.DOCUMENTATION_OUTPUT)
                 throw new IllegalStateException();
 
+            // Don't overtake a queued write of the same file
+            configuration.writeBehindQueue.awaitWritten(this);
             try {
-                OutputStream out
-                    = getFileObjectForOutput(path).openOutputStream();
-                return new BufferedOutputStream(out);
+                OutputStream out = configuration.unchangedFileFilter.open(
+                    file, () -> new BufferedOutputStream(openFileOutput()));
+                configuration.phaseTimings.fileOpened();
+                return out;
             } catch (IOException e) {
                 throw new DocFileIOException(this,
                     DocFileIOException.Mode.WRITE, e);
@@ -219,10 +227,27 @@ class StandardDocFileFactory extends DocFileFactory {
             if (location != DocumentationTool.Location.DOCUMENTATION_OUTPUT)
                 throw new IllegalStateException();
 
+            configuration.phaseTimings.fileOpened();
+            WriteBehindQueue queue = configuration.writeBehindQueue;
+            if (queue.isActive()) {
+                return new QueuedWriter(queue, this);
+            }
+            return openUnqueuedWriter();
+        }
+
+        @Override
+        Writer openUnqueuedWriter()
+                throws DocFileIOException, UnsupportedEncodingException {
             try {
-                OutputStream out
-                    = getFileObjectForOutput(path).openOutputStream();
                 String docencoding = configuration.getOptions().docEncoding();
+                if (isUtf8(docencoding) && isOnDefaultFileSystem(file)
+                    && !configuration.unchangedFileFilter.isEnabled()) {
+                    // Common case, avoid the generic encoder and streams
+                    unlinkIfShared();
+                    return new Utf8FileWriter(file);
+                }
+                OutputStream out = configuration.unchangedFileFilter
+                    .open(file, this::openFileOutput);
                 return new BufferedWriter(
                     new OutputStreamWriter(out, docencoding));
             } catch (IOException e) {
@@ -231,6 +256,114 @@ class StandardDocFileFactory extends DocFileFactory {
             }
         }
 
+        private boolean isUtf8(String encoding) {
+            try {
+                return StandardCharsets.UTF_8
+                    .equals(Charset.forName(encoding));
+            } catch (IllegalArgumentException e) {
+                // Reported when the writer is created
+                return false;
+            }
+        }
+
+        private OutputStream openFileOutput() throws IOException {
+            unlinkIfShared();
+            return getFileObjectForOutput(path).openOutputStream();
+        }
+
+        /**
+         * Deletes the file if it is a hard link (see
+         * {@link #copyFile(DocFile)}). Else, writing the file would 
+         * modify the file that it was copied from.
+         */
+        private void unlinkIfShared() throws IOException {
+            if (!hasLinkCount()) {
+                return;
+            }
+            try {
+                if (Files.getAttribute(file, "unix:nlink") instanceof Integer n
+                    && n > 1) {
+                    Files.delete(file);
+                }
+            } catch (NoSuchFileException e) {
+                // Nothing to unlink
+            }
+        }
+
+        /**
+         * Checks if the number of hard links to the file can be 
+         * determined. Only then can {@link #unlinkIfShared()} 
+         * protect a linked file from being modified.
+         */
+        private boolean hasLinkCount() {
+            return file.getFileSystem().supportedFileAttributeViews()
+                .contains("unix");
+        }
+
+        /**
+         * Copy the contents of another file directly to this file.
+         * If both files are on the default file system, the copy is
+         * made by the file system, without passing the contents 
+         * through streams. If requested with `--link-doc-files`, the 
+         * file is not copied but linked. Falls back to copying the 
+         * contents if creating the link fails or if the file system
+         * does not provide the link count, which is needed to
+         * detect a link before the file is written.
+         *
+         * @param fromFile the file to be copied
+         * @throws DocFileIOException if there is a problem file copying the file
+         */
+        @Override
+        public void copyFile(DocFile fromFile) throws DocFileIOException {
+            if (location != DocumentationTool.Location.DOCUMENTATION_OUTPUT
+                || !(fromFile instanceof StandardDocFile source)
+                || !isOnDefaultFileSystem(source.file)
+                || !isOnDefaultFileSystem(file)) {
+                super.copyFile(fromFile);
+                return;
+            }
+
+            // Don't overtake a queued write of the same file
+            configuration.writeBehindQueue.awaitWritten(this);
+            configuration.phaseTimings.fileOpened();
+            try {
+                if (configuration.unchangedFileFilter.isUnchanged(source.file,
+                    file)) {
+                    return;
+                }
+                if (file.getParent() != null) {
+                    Files.createDirectories(file.getParent());
+                }
+                if (configuration.getOptions().linkDocFiles()
+                    && hasLinkCount() && linkTo(source.file)) {
+                    return;
+                }
+                Files.copy(source.file, file,
+                    StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new DocFileIOException(this,
+                    DocFileIOException.Mode.WRITE, e);
+            }
+        }
+
+        private boolean isOnDefaultFileSystem(Path path) {
+            return path.getFileSystem() == FileSystems.getDefault();
+        }
+
+        private boolean linkTo(Path source) {
+            try {
+                if (Files.exists(file) && Files.isSameFile(source, file)) {
+                    return true;
+                }
+                Files.deleteIfExists(file);
+                Files.createLink(file, source);
+                return true;
+            } catch (IOException | UnsupportedOperationException e) {
+                // E.g. different file stores, copy instead
+                return false;
+            }
+        }
+
         /** Return true if the file can be read. */
         @Override
         public boolean canRead() {
@@ -246,7 +379,8 @@ class StandardDocFileFactory extends DocFileFactory {
         /** Return true if the file exists. */
         @Override
         public boolean exists() {
-            return Files.exists(file);
+            return Files.exists(file)
+                || configuration.writeBehindQueue.isPending(this);
         }
 
         /** Return the base name (last component) of the file name. */
@@ -399,4 +533,54 @@ class StandardDocFileFactory extends DocFileFactory {
             return fileManager.getFileForOutput(location, pkg, rest, null);
         }
     }
+
+    /**
+     * Collects the text written to a file and passes it to the
+     * {@link WriteBehindQueue} when closed.
+     */
+    private static class QueuedWriter extends Writer {
+        private final WriteBehindQueue queue;
+        private final DocFile file;
+        private StringBuilder text = new StringBuilder(8192);
+
+        QueuedWriter(WriteBehindQueue queue, DocFile file) {
+            this.queue = queue;
+            this.file = file;
+        }
+
+        private StringBuilder text() throws IOException {
+            if (text == null) {
+                throw new IOException("Writer closed");
+            }
+            return text;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            text().append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            text().append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            text().append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            text();
+        }
+
+        @Override
+        public void close() {
+            if (text != null) {
+                queue.write(file, text.toString());
+                text = null;
+            }
+        }
+    }
 }
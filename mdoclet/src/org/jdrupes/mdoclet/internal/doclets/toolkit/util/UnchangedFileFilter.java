@@ -0,0 +1,204 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.internal.doclets.toolkit.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Avoids rewriting output files with unchanged content (option
+ * `--skip-unchanged`).
+ * 
+ * While enabled, the streams returned by {@link #open} collect the
+ * content in memory. When such a stream is closed, the content is
+ * compared with the existing file. The file is only written if
+ * the content differs, else it is left untouched, i.e. it keeps
+ * its modification time. 
+ * 
+ * The content is compared with the file directly. Checking the
+ * file's size first makes this cheap for most changed files and
+ * there is no manifest that could get out of sync with the output
+ * directory.
+ */
+public class UnchangedFileFilter {
+
+    private volatile boolean enabled;
+    private final AtomicLong skippedFiles = new AtomicLong();
+    private final AtomicLong skippedBytes = new AtomicLong();
+
+    /**
+     * Opens the output stream for a file.
+     */
+    @FunctionalInterface
+    public interface Opener {
+
+        /**
+         * Opens the stream.
+         *
+         * @return the stream
+         * @throws IOException if an I/O error occurs
+         */
+        OutputStream open() throws IOException;
+    }
+
+    /**
+     * Enables or disables the filter.
+     *
+     * @param enabled true to enable
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Checks if the filter is enabled.
+     *
+     * @return true, if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a stream for writing the given file. If the filter is
+     * enabled, the stream is only opened with the opener when the
+     * collected content differs from the file's content. Else, the
+     * stream is opened immediately.
+     *
+     * @param file the file
+     * @param opener opens the stream for writing the file
+     * @return the stream
+     * @throws IOException if an I/O error occurs
+     */
+    public OutputStream open(Path file, Opener opener) throws IOException {
+        if (!enabled) {
+            return opener.open();
+        }
+        return new ComparingOutputStream(file, opener);
+    }
+
+    /**
+     * Checks if the filter is enabled and the target file has the 
+     * same content as the source file. If so, the target is counted
+     * as skipped.
+     *
+     * @param source the source file
+     * @param target the target file
+     * @return true, if the target needn't be written
+     */
+    public boolean isUnchanged(Path source, Path target) {
+        if (!enabled) {
+            return false;
+        }
+        try {
+            if (!Files.isRegularFile(target)
+                || Files.size(source) != Files.size(target)
+                || Files.mismatch(source, target) != -1) {
+                return false;
+            }
+            skippedFiles.incrementAndGet();
+            skippedBytes.addAndGet(Files.size(target));
+            return true;
+        } catch (IOException e) {
+            // Cannot be compared, so write it
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of files that were not written because
+     * their content was unchanged.
+     *
+     * @return the number of files
+     */
+    public long skippedFiles() {
+        return skippedFiles.get();
+    }
+
+    /**
+     * Returns the number of bytes that were not written because
+     * the content of the files was unchanged.
+     *
+     * @return the number of bytes
+     */
+    public long skippedBytes() {
+        return skippedBytes.get();
+    }
+
+    /**
+     * Collects the content and compares it with the file when closed.
+     */
+    private class ComparingOutputStream extends ByteArrayOutputStream {
+        private final Path file;
+        private final Opener opener;
+        private boolean closed;
+
+        ComparingOutputStream(Path file, Opener opener) {
+            super(8192);
+            this.file = file;
+            this.opener = opener;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (hasSameContent()) {
+                skippedFiles.incrementAndGet();
+                skippedBytes.addAndGet(count);
+                return;
+            }
+            try (OutputStream out = opener.open()) {
+                out.write(buf, 0, count);
+            }
+        }
+
+        private boolean hasSameContent() {
+            try {
+                if (!Files.isRegularFile(file) || Files.size(file) != count) {
+                    return false;
+                }
+                try (InputStream in = Files.newInputStream(file)) {
+                    byte[] chunk = new byte[8192];
+                    int pos = 0;
+                    int read;
+                    while ((read = in.readNBytes(chunk, 0, chunk.length)) > 0) {
+                        if (pos + read > count || !Arrays.equals(chunk, 0,
+                            read, buf, pos, pos + read)) {
+                            return false;
+                        }
+                        pos += read;
+                    }
+                    return pos == count;
+                }
+            } catch (IOException e) {
+                // Cannot be compared, so write it
+                return false;
+            }
+        }
+    }
+}
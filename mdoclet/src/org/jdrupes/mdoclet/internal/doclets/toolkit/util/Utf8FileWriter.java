@@ -0,0 +1,184 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.internal.doclets.toolkit.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A writer for files with the encoding UTF-8. The characters are
+ * encoded directly into a direct byte buffer that is reused by all
+ * writers of a thread. The buffer is written to the file with a
+ * single channel write when the writer is closed, unless the file 
+ * exceeds the size of the buffer. In that case, the buffer is 
+ * written whenever it is full. The file is opened when the buffer
+ * is written for the first time.
+ *
+ * The bytes written are the same as those written by an
+ * {@link java.io.OutputStreamWriter} for UTF-8, including the 
+ * replacement of unpaired surrogates with `?`.
+ */
+public class Utf8FileWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+    private static final byte REPLACEMENT = '?';
+    private static final ThreadLocal<ByteBuffer> idleBuffer
+        = new ThreadLocal<>();
+
+    private final Path file;
+    private ByteBuffer buffer;
+    private FileChannel channel;
+    private char highSurrogate;
+    private boolean closed;
+
+    /**
+     * Creates a writer for the given file. The file is created or
+     * truncated when the content is written for the first time.
+     *
+     * @param file the file
+     */
+    public Utf8FileWriter(Path file) {
+        this.file = file;
+        buffer = idleBuffer.get();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        } else {
+            // Another writer of this thread must not use it meanwhile
+            idleBuffer.remove();
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        for (int i = off, end = off + len; i < end; i++) {
+            encode(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        for (int i = off, end = off + len; i < end; i++) {
+            encode(str.charAt(i));
+        }
+    }
+
+    private void encode(char c) throws IOException {
+        if (buffer.remaining() < 4) {
+            writeBuffer();
+        }
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                buffer.put((byte) (0xf0 | (cp >> 18)));
+                buffer.put((byte) (0x80 | ((cp >> 12) & 0x3f)));
+                buffer.put((byte) (0x80 | ((cp >> 6) & 0x3f)));
+                buffer.put((byte) (0x80 | (cp & 0x3f)));
+                return;
+            }
+            // Unpaired, at least three bytes remain for c
+            buffer.put(REPLACEMENT);
+        }
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xc0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3f)));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer.put(REPLACEMENT);
+        } else {
+            buffer.put((byte) (0xe0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+            buffer.put((byte) (0x80 | (c & 0x3f)));
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        if (channel == null) {
+            Path parent = file.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Writer closed");
+        }
+    }
+
+    /**
+     * Writes the buffered content to the file.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeBuffer();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                buffer.put(REPLACEMENT);
+            }
+            writeBuffer();
+        } finally {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } finally {
+                idleBuffer.set(buffer);
+                buffer = null;
+            }
+        }
+    }
+}
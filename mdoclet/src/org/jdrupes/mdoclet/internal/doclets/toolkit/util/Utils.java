@@ -35,6 +35,7 @@ import java.text.RuleBasedCollator;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -87,6 +88,7 @@ import javax.tools.FileObject;
 import javax.tools.JavaFileManager;
 import javax.tools.JavaFileManager.Location;
 
+import org.jdrupes.mdoclet.LazyBlockTags;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.BaseConfiguration;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.BaseOptions;
 import org.jdrupes.mdoclet.internal.doclets.toolkit.CommentUtils;
@@ -2181,21 +2183,46 @@ public class Utils {
         return dcTree == null ? List.of() : dcTree.getBlockTags();
     }
 
+    /**
+     * Returns the block tags before they are converted by MDoclet.
+     * Use this if only the kind or the name of the tags is evaluated.
+     *
+     * @param element the element
+     * @return the block tags
+     */
+    public List<? extends DocTree> getUnconvertedBlockTags(Element element) {
+        return getUnconvertedBlockTags(getDocCommentTree(element));
+    }
+
+    private List<? extends DocTree>
+            getUnconvertedBlockTags(DocCommentTree dcTree) {
+        List<? extends DocTree> tags = getBlockTags(dcTree);
+        return tags instanceof LazyBlockTags lazy ? lazy.unconverted() : tags;
+    }
+
     public List<? extends DocTree> getBlockTags(Element element,
             Predicate<DocTree> filter) {
-        return getBlockTags(element).stream()
-            .filter(t -> t.getKind() != ERRONEOUS)
-            .filter(filter)
-            .toList();
+        return getBlockTags(element, filter, DocTree.class);
     }
 
+    /*
+     * The filters only evaluate properties that are preserved by
+     * MDoclet's conversion. Apply them to the unconverted tags
+     * to avoid converting tags that are not needed.
+     */
     public <T extends DocTree> List<T> getBlockTags(Element element,
             Predicate<DocTree> filter, Class<T> tClass) {
-        return getBlockTags(element).stream()
-            .filter(t -> t.getKind() != ERRONEOUS)
-            .filter(filter)
-            .map(tClass::cast)
-            .toList();
+        List<? extends DocTree> tags = getBlockTags(element);
+        List<? extends DocTree> unconverted
+            = tags instanceof LazyBlockTags lazy ? lazy.unconverted() : tags;
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < unconverted.size(); i++) {
+            DocTree tag = unconverted.get(i);
+            if (tag.getKind() != ERRONEOUS && filter.test(tag)) {
+                result.add(tClass.cast(tags.get(i)));
+            }
+        }
+        return Collections.unmodifiableList(result);
     }
 
     public List<? extends DocTree> getBlockTags(Element element,
@@ -2229,7 +2256,7 @@ public class Utils {
             final String tagName) {
         if (hasDocCommentTree(element)) {
             CommentHelper ch = getCommentHelper(element);
-            for (DocTree dt : getBlockTags(ch.dcTree)) {
+            for (DocTree dt : getUnconvertedBlockTags(ch.dcTree)) {
                 if (dt.getKind() == kind
                     && (tagName == null || ch.getTagName(dt).equals(tagName))) {
                     return true;
@@ -2249,7 +2276,7 @@ public class Utils {
     boolean hasBlockTagUnchecked(Element element, DocTree.Kind kind) {
         DocCommentInfo dcInfo = getDocCommentInfo(element);
         if (dcInfo != null && dcInfo.dcTree != null) {
-            for (DocTree dt : getBlockTags(dcInfo.dcTree)) {
+            for (DocTree dt : getUnconvertedBlockTags(dcInfo.dcTree)) {
                 if (dt.getKind() == kind) {
                     return true;
                 }
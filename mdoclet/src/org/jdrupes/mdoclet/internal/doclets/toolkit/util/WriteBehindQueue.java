@@ -0,0 +1,247 @@
+/*
+ * JDrupes MDoclet
+ * Copyright (C) 2024 Michael N. Lipp
+ * 
+ * This program is free software; you can redistribute it and/or modify it 
+ * under the terms of the GNU Affero General Public License as published by 
+ * the Free Software Foundation; either version 3 of the License, or 
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but 
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public License 
+ * for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License along 
+ * with this program; if not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jdrupes.mdoclet.internal.doclets.toolkit.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * An output stage that writes text files in the background
+ * (options `--write-threads` and `--write-buffer`).
+ * 
+ * Writers obtained with {@link DocFile#openWriter()} collect the
+ * text in memory while the queue is active. When such a writer is
+ * closed, the text is put in a queue that is drained by dedicated
+ * I/O threads. Rendering can thus continue while the file system
+ * is busy.
+ * 
+ * The texts in the queue may use at most the given amount of 
+ * memory. If the limit is reached, closing a writer blocks until 
+ * enough queued texts have been written. Texts for the same file 
+ * are written in the order in which they have been queued. A text
+ * that is larger than the limit is queued when the queue is empty.
+ * 
+ * Errors are reported when the queue is {@link #finish() finished}.
+ * After the first error, the I/O threads discard the remaining
+ * texts, but keep draining the queue so that writers never block
+ * forever.
+ */
+public class WriteBehindQueue {
+
+    private static final Entry END = new Entry(null, null, 0);
+
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Set<Object> pending = new HashSet<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private Semaphore budget;
+    private int budgetBytes;
+    private volatile boolean active;
+    private volatile Throwable failure;
+
+    private record Entry(DocFile file, String text, int cost) {
+    }
+
+    /**
+     * Starts the given number of I/O threads.
+     *
+     * @param threadCount the number of threads
+     * @param budgetBytes the maximum number of bytes used by queued texts
+     */
+    public void start(int threadCount, int budgetBytes) {
+        this.budgetBytes = budgetBytes;
+        budget = new Semaphore(budgetBytes);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(this::drain, "DocFileWriter-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        active = true;
+    }
+
+    /**
+     * Checks if the queue has been started and not yet finished.
+     *
+     * @return true, if active
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Queues a text for being written to the given file. Blocks 
+     * while the texts in the queue exceed the memory budget or 
+     * while a text for the same file is waiting to be written.
+     *
+     * @param file the file
+     * @param text the text
+     */
+    void write(DocFile file, String text) {
+        // Java uses (up to) two bytes per character
+        int cost = (int) Math.min(2L * text.length(), budgetBytes);
+        Object key = key(file);
+        boolean interrupted = false;
+        synchronized (pending) {
+            while (pending.contains(key)) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            pending.add(key);
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        budget.acquireUninterruptibly(cost);
+        queue.add(new Entry(file, text, cost));
+    }
+
+    /**
+     * Checks if a text for the given file is waiting to be written.
+     *
+     * @param file the file
+     * @return true, if pending
+     */
+    boolean isPending(DocFile file) {
+        synchronized (pending) {
+            return pending.contains(key(file));
+        }
+    }
+
+    /**
+     * Waits until there is no text waiting to be written 
+     * to the given file.
+     *
+     * @param file the file
+     */
+    void awaitWritten(DocFile file) {
+        Object key = key(file);
+        boolean interrupted = false;
+        synchronized (pending) {
+            while (pending.contains(key)) {
+                try {
+                    pending.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Object key(DocFile file) {
+        return file.getPath();
+    }
+
+    private void drain() {
+        while (true) {
+            Entry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry == END) {
+                return;
+            }
+            try {
+                if (failure == null) {
+                    writeNow(entry.file(), entry.text());
+                }
+            } catch (Throwable e) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            } finally {
+                budget.release(entry.cost());
+                synchronized (pending) {
+                    pending.remove(key(entry.file()));
+                    pending.notifyAll();
+                }
+            }
+        }
+    }
+
+    private static void writeNow(DocFile file, String text)
+            throws DocFileIOException {
+        try (Writer writer = file.openUnqueuedWriter()) {
+            writer.write(text);
+        } catch (IOException e) {
+            throw new DocFileIOException(file, DocFileIOException.Mode.WRITE,
+                e);
+        }
+    }
+
+    /**
+     * Waits until all queued texts have been written and stops 
+     * the I/O threads. Does nothing if the queue is not active.
+     *
+     * @throws DocFileIOException if writing a file failed
+     * @throws RuntimeException if an I/O thread failed unexpectedly
+     * @throws Error if an I/O thread failed with an error
+     */
+    public void finish() throws DocFileIOException {
+        if (!active) {
+            return;
+        }
+        active = false;
+        for (int i = 0; i < threads.size(); i++) {
+            queue.add(END);
+        }
+        boolean interrupted = false;
+        for (Thread thread : threads) {
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        threads.clear();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure instanceof DocFileIOException e) {
+            throw e;
+        }
+        if (failure instanceof RuntimeException e) {
+            throw e;
+        }
+        if (failure instanceof Error e) {
+            throw e;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+}
@@ -18,6 +18,17 @@
 
 package org.jdrupes.mdoclet.processors;
 
+import com.sun.source.doctree.AttributeTree.ValueKind;
+import com.sun.source.doctree.DocTree;
+import com.sun.source.util.DocTreeFactory;
+import com.vladsch.flexmark.ast.Code;
+import com.vladsch.flexmark.ast.Emphasis;
+import com.vladsch.flexmark.ast.Link;
+import com.vladsch.flexmark.ast.Paragraph;
+import com.vladsch.flexmark.ast.SoftLineBreak;
+import com.vladsch.flexmark.ast.StrongEmphasis;
+import com.vladsch.flexmark.ast.Text;
+import com.vladsch.flexmark.ast.TextBase;
 import com.vladsch.flexmark.ext.abbreviation.AbbreviationExtension;
 import com.vladsch.flexmark.ext.anchorlink.AnchorLinkExtension;
 import com.vladsch.flexmark.ext.definition.DefinitionExtension;
@@ -25,19 +36,26 @@ import com.vladsch.flexmark.ext.footnotes.FootnoteExtension;
 import com.vladsch.flexmark.ext.tables.TablesExtension;
 import com.vladsch.flexmark.ext.toc.TocExtension;
 import com.vladsch.flexmark.ext.typographic.TypographicExtension;
+import com.vladsch.flexmark.ext.typographic.TypographicQuotes;
+import com.vladsch.flexmark.ext.typographic.TypographicSmarts;
 import com.vladsch.flexmark.ext.wikilink.WikiLinkExtension;
 import com.vladsch.flexmark.html.HtmlRenderer;
 import com.vladsch.flexmark.parser.Parser;
 import com.vladsch.flexmark.parser.ParserEmulationProfile;
 import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.data.DataHolder;
 import com.vladsch.flexmark.util.data.MutableDataSet;
 import com.vladsch.flexmark.util.misc.Extension;
+import com.vladsch.flexmark.util.sequence.Escaping;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
+
+import javax.lang.model.element.Name;
 
 import org.jdrupes.mdoclet.MarkdownProcessor;
 import org.jdrupes.mdoclet.processors.flexmark.TopAnchorLinkExtension;
@@ -80,6 +98,16 @@ import org.jdrupes.mdoclet.processors.flexmark.TopAnchorLinkExtension;
  *     
  * The parser also supports disabling the automatic highlight feature.
  * 
+ * The processor is thread safe. Every thread uses its own parser and
+ * renderer, created from the options that were frozen when the
+ * processor was started. This guards against extensions that keep
+ * state while processing a document.
+ * 
+ * Conversion to {@link DocTree}s is supported for fragments that
+ * consist of a single paragraph with text, emphasis, code and links
+ * only, provided that no extensions other than the predefined ones
+ * are used.
+ * 
  * [^DefLists]: If you use this extension, you'll most likely want to supply a
  *     modified style sheet because the standard stylesheet assumes all definition
  *     lists to be parameter defintion lists and formats them accordingly.
@@ -112,9 +140,18 @@ public class FlexmarkProcessor implements MarkdownProcessor {
     private static final String OPT_PROFILE = "--parser-profile";
     private static final String OPT_CLEAR_EXTENSIONS = "--clear-extensions";
     private static final String OPT_EXTENSION = "--extension";
+    private static final Set<Class<? extends Extension>> DEFAULT_EXTENSIONS
+        = Set.of(AbbreviationExtension.class, AnchorLinkExtension.class,
+            DefinitionExtension.class, FootnoteExtension.class,
+            TablesExtension.class, TypographicExtension.class,
+            TocExtension.class, WikiLinkExtension.class,
+            TopAnchorLinkExtension.class);
 
-    private Parser parser;
-    private HtmlRenderer renderer;
+    private ThreadLocal<Parser> parser;
+    private ThreadLocal<HtmlRenderer> renderer;
+    private boolean toDocTreesSupported;
+    private boolean plainTextTransparent = true;
+    private boolean topAnchorLinks;
 
     @Override
     public int isSupportedOption(String option) {
@@ -133,16 +170,8 @@ public class FlexmarkProcessor implements MarkdownProcessor {
 
     @Override
     public void start(String[] options) {
-        Set<Class<? extends Extension>> extensions = new HashSet<>();
-        extensions.add(AbbreviationExtension.class);
-        extensions.add(AnchorLinkExtension.class);
-        extensions.add(DefinitionExtension.class);
-        extensions.add(FootnoteExtension.class);
-        extensions.add(TablesExtension.class);
-        extensions.add(TypographicExtension.class);
-        extensions.add(TocExtension.class);
-        extensions.add(WikiLinkExtension.class);
-        extensions.add(TopAnchorLinkExtension.class);
+        Set<Class<? extends Extension>> extensions
+            = new HashSet<>(DEFAULT_EXTENSIONS);
 
         MutableDataSet flexmarkOpts = new MutableDataSet();
         flexmarkOpts.set(HtmlRenderer.GENERATE_HEADER_ID, true);
@@ -152,6 +181,7 @@ public class FlexmarkProcessor implements MarkdownProcessor {
             switch (optAndArgs[0]) {
             case OPT_PROFILE:
                 setFromProfile(flexmarkOpts, optAndArgs[1]);
+                plainTextTransparent = false;
                 continue;
 
             case OPT_CLEAR_EXTENSIONS:
@@ -202,8 +232,14 @@ public class FlexmarkProcessor implements MarkdownProcessor {
         if (!extObjs.isEmpty()) {
             flexmarkOpts.set(Parser.EXTENSIONS, extObjs);
         }
-        parser = Parser.builder(flexmarkOpts).build();
-        renderer = HtmlRenderer.builder(flexmarkOpts).build();
+        toDocTreesSupported = DEFAULT_EXTENSIONS.containsAll(extensions);
+        plainTextTransparent &= toDocTreesSupported;
+        topAnchorLinks = extensions.contains(TopAnchorLinkExtension.class);
+        DataHolder frozenOpts = flexmarkOpts.toImmutable();
+        parser = ThreadLocal.withInitial(
+            () -> Parser.builder(frozenOpts).build());
+        renderer = ThreadLocal.withInitial(
+            () -> HtmlRenderer.builder(frozenOpts).build());
     }
 
     private void setFromProfile(MutableDataSet fmOpts, String profileName) {
@@ -223,8 +259,8 @@ public class FlexmarkProcessor implements MarkdownProcessor {
      */
     @Override
     public String toHtml(String markdown) {
-        Node document = parser.parse(markdown);
-        return renderer.render(document);
+        Node document = parser.get().parse(markdown);
+        return renderer.get().render(document);
     }
 
     /*
@@ -249,4 +285,120 @@ public class FlexmarkProcessor implements MarkdownProcessor {
         return result;
     }
 
+    @Override
+    public List<DocTree> toDocTreeFragment(String markdown,
+            DocTreeFactory factory, Function<CharSequence, Name> names) {
+        if (!toDocTreesSupported) {
+            return null;
+        }
+        Node document = parser.get().parse(markdown.trim());
+        Node paragraph = document.getFirstChild();
+        if (paragraph == null) {
+            return new ArrayList<>();
+        }
+        if (!(paragraph instanceof Paragraph)
+            || paragraph.getNext() != null) {
+            return null;
+        }
+        List<DocTree> result = new ArrayList<>();
+        if (!appendChildren(result, paragraph, factory, names)) {
+            return null;
+        }
+        return result;
+    }
+
+    private boolean appendChildren(List<DocTree> result, Node parent,
+            DocTreeFactory factory, Function<CharSequence, Name> names) {
+        for (Node node = parent.getFirstChild(); node != null;
+                node = node.getNext()) {
+            if (node instanceof Text) {
+                result.add(factory.newTextTree(
+                    Escaping.escapeHtml(node.getChars().unescape(), false)));
+            } else if (node instanceof SoftLineBreak) {
+                result.add(factory.newTextTree("\n"));
+            } else if (node instanceof TextBase) {
+                if (!appendChildren(result, node, factory, names)) {
+                    return false;
+                }
+            } else if (node instanceof TypographicSmarts smarts) {
+                result.add(factory.newTextTree(smarts.getTypographicText()));
+            } else if (node instanceof TypographicQuotes quotes) {
+                result.add(
+                    factory.newTextTree(quotes.getTypographicOpening()));
+                if (!appendChildren(result, node, factory, names)) {
+                    return false;
+                }
+                result.add(
+                    factory.newTextTree(quotes.getTypographicClosing()));
+            } else if (node instanceof Code code) {
+                appendElement(result, "code", List.of(), factory, names);
+                result.add(factory.newTextTree(
+                    Escaping.escapeHtml(code.getText(), false)));
+                result.add(factory.newEndElementTree(names.apply("code")));
+            } else if (node instanceof Emphasis
+                || node instanceof StrongEmphasis) {
+                String tag = node instanceof Emphasis ? "em" : "strong";
+                appendElement(result, tag, List.of(), factory, names);
+                if (!appendChildren(result, node, factory, names)) {
+                    return false;
+                }
+                result.add(factory.newEndElementTree(names.apply(tag)));
+            } else if (node instanceof Link link) {
+                List<String> attrs = new ArrayList<>();
+                attrs.add("href");
+                attrs.add(link.getUrl().unescape());
+                if (link.getTitle().isNotNull()) {
+                    attrs.add("title");
+                    attrs.add(link.getTitle().unescape());
+                }
+                if (topAnchorLinks) {
+                    attrs.add("target");
+                    attrs.add("_top");
+                }
+                appendElement(result, "a", attrs, factory, names);
+                if (!appendChildren(result, node, factory, names)) {
+                    return false;
+                }
+                result.add(factory.newEndElementTree(names.apply("a")));
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendElement(List<DocTree> result, String tag,
+            List<String> attrs, DocTreeFactory factory,
+            Function<CharSequence, Name> names) {
+        List<DocTree> attrTrees = new ArrayList<>();
+        for (int i = 0; i < attrs.size(); i += 2) {
+            attrTrees.add(factory.newAttributeTree(names.apply(attrs.get(i)),
+                ValueKind.DOUBLE,
+                List.of(factory.newTextTree(attrs.get(i + 1)))));
+        }
+        result.add(factory.newStartElementTree(names.apply(tag), attrTrees,
+            false));
+    }
+
+    /**
+     * Returns `true` unless a parser profile or additional extensions
+     * have been configured.
+     *
+     * @return the result
+     */
+    @Override
+    public boolean isPlainTextTransparent() {
+        return plainTextTransparent;
+    }
+
+    /**
+     * Returns `true`, the processor is thread safe.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isThreadSafe() {
+        return true;
+    }
+
 }